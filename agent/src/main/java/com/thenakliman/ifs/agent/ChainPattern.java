@@ -0,0 +1,149 @@
+package com.thenakliman.ifs.agent;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+final class ChainPattern {
+    private static final String PACKAGE = "com/thenakliman/ifs/";
+    private static final String IF = PACKAGE + "If";
+    private static final String INLINED = PACKAGE + "IfInlined";
+    private static final String OBJECT = "Ljava/lang/Object;";
+    private static final String SUPPLIER = "Ljava/util/function/Supplier;";
+    private static final String FUNCTION = "Ljava/util/function/Function;";
+    private static final String CALLABLE = "L" + PACKAGE + "IfExpression$Callable;";
+    private static final String EXPRESSION_THEN = PACKAGE + "IfExpression$IExpressionThen";
+    private static final String EXPRESSION_ELSE = PACKAGE + "IfExpression$IElse";
+    private static final String ELSE_CALL = PACKAGE + "IfExpression$IElseCall";
+    private static final String EXECUTE = PACKAGE + "IfOnly$IExecute";
+    private static final String NULL_THEN = PACKAGE + "NullTernary$IThen";
+    private static final String NULL_ELSE = PACKAGE + "NullTernary$IElse";
+
+    static final List<ChainPattern> PATTERNS = patterns();
+
+    final String entryName;
+    final String entryDescriptor;
+    final boolean negated;
+    final MethodInsnNode then;
+    final MethodInsnNode terminal;
+    final MethodInsnNode replacement;
+    // then branch already ran when the else argument is evaluated, so it has to be free of side effects
+    final boolean quietElse;
+
+    private ChainPattern(final String entryName,
+                         final String entryDescriptor,
+                         final boolean negated,
+                         final MethodInsnNode then,
+                         final MethodInsnNode terminal,
+                         final MethodInsnNode replacement,
+                         final boolean quietElse) {
+        this.entryName = entryName;
+        this.entryDescriptor = entryDescriptor;
+        this.negated = negated;
+        this.then = then;
+        this.terminal = terminal;
+        this.replacement = replacement;
+        this.quietElse = quietElse;
+    }
+
+    private static List<ChainPattern> patterns() {
+        final List<ChainPattern> expressions = Arrays.asList(
+                expression("thenValue", OBJECT, EXPRESSION_ELSE, "elseValue", OBJECT, OBJECT, "value", false),
+                expression("thenValue", OBJECT, EXPRESSION_ELSE, "elseGet", SUPPLIER, OBJECT, "valueOrGet", false),
+                expression("thenGet", SUPPLIER, EXPRESSION_ELSE, "elseValue", OBJECT, OBJECT, "getOrValue", true),
+                expression("thenGet", SUPPLIER, EXPRESSION_ELSE, "elseGet", SUPPLIER, OBJECT, "get", true),
+                primitive("Int", "I"),
+                primitive("Long", "J"),
+                primitive("Double", "D"),
+                expression("thenCall", CALLABLE, ELSE_CALL, "elseCall", CALLABLE, "V", "call", true),
+                expression("thenCall", CALLABLE, ELSE_CALL, "elseDoNothing", "", "V", "call", false));
+
+        final List<ChainPattern> patterns = new ArrayList<>(expressions);
+        for (final ChainPattern pattern : expressions) {
+            patterns.add(new ChainPattern("isFalse", pattern.entryDescriptor, true,
+                    pattern.then, pattern.terminal, pattern.replacement, pattern.quietElse));
+        }
+
+        patterns.add(execute("isTrueThen", "thenCall", CALLABLE, "call"));
+        patterns.add(execute("isFalseThen", "thenCall", CALLABLE, "call"));
+        patterns.add(execute("isTrueThen", "thenThrow", SUPPLIER, "throwIf"));
+        patterns.add(execute("isFalseThen", "thenThrow", SUPPLIER, "throwIf"));
+        patterns.add(nullTernary("thenValue", OBJECT, "elseValue", OBJECT, "nullValue", false));
+        patterns.add(nullTernary("thenValue", OBJECT, "elseMap", FUNCTION, "nullValueOrMap", false));
+        patterns.add(nullTernary("thenGet", SUPPLIER, "elseValue", OBJECT, "nullGetOrValue", true));
+        patterns.add(nullTernary("thenGet", SUPPLIER, "elseMap", FUNCTION, "nullGetOrMap", true));
+        return Collections.unmodifiableList(patterns);
+    }
+
+    boolean isEntry(final MethodInsnNode instruction) {
+        return IF.equals(instruction.owner)
+                && entryName.equals(instruction.name)
+                && entryDescriptor.equals(instruction.desc);
+    }
+
+    static boolean matches(final MethodInsnNode expected, final MethodInsnNode actual) {
+        return expected.owner.equals(actual.owner)
+                && expected.name.equals(actual.name)
+                && expected.desc.equals(actual.desc);
+    }
+
+    private static ChainPattern expression(final String thenName,
+                                           final String thenArgument,
+                                           final String terminalOwner,
+                                           final String terminalName,
+                                           final String terminalArgument,
+                                           final String terminalReturn,
+                                           final String helper,
+                                           final boolean quietElse) {
+        return new ChainPattern("isTrue", "(Z)L" + EXPRESSION_THEN + ";", false,
+                call(EXPRESSION_THEN, thenName, "(" + thenArgument + ")L" + terminalOwner + ";"),
+                call(terminalOwner, terminalName, "(" + terminalArgument + ")" + terminalReturn),
+                helper(helper, "(Z" + thenArgument + terminalArgument + ")" + terminalReturn),
+                quietElse);
+    }
+
+    private static ChainPattern primitive(final String type, final String descriptor) {
+        final String elseType = PACKAGE + "PrimitiveExpression$I" + type + "Else";
+        return new ChainPattern("isTrue", "(Z)L" + EXPRESSION_THEN + ";", false,
+                call(EXPRESSION_THEN, "then" + type, "(" + descriptor + ")L" + elseType + ";"),
+                call(elseType, "elseValue", "(" + descriptor + ")" + descriptor),
+                helper("value", "(Z" + descriptor + descriptor + ")" + descriptor),
+                false);
+    }
+
+    private static ChainPattern execute(final String entryName,
+                                        final String terminalName,
+                                        final String argument,
+                                        final String helper) {
+        return new ChainPattern(entryName, "(Z)L" + EXECUTE + ";", entryName.startsWith("isFalse"),
+                null,
+                call(EXECUTE, terminalName, "(" + argument + ")V"),
+                helper(helper, "(Z" + argument + ")V"),
+                false);
+    }
+
+    private static ChainPattern nullTernary(final String thenName,
+                                            final String thenArgument,
+                                            final String terminalName,
+                                            final String terminalArgument,
+                                            final String helper,
+                                            final boolean quietElse) {
+        return new ChainPattern("isNull", "(" + OBJECT + ")L" + NULL_THEN + ";", false,
+                call(NULL_THEN, thenName, "(" + thenArgument + ")L" + NULL_ELSE + ";"),
+                call(NULL_ELSE, terminalName, "(" + terminalArgument + ")" + OBJECT),
+                helper(helper, "(" + OBJECT + thenArgument + terminalArgument + ")" + OBJECT),
+                quietElse);
+    }
+
+    private static MethodInsnNode call(final String owner, final String name, final String descriptor) {
+        return new MethodInsnNode(Opcodes.INVOKEINTERFACE, owner, name, descriptor, true);
+    }
+
+    private static MethodInsnNode helper(final String name, final String descriptor) {
+        return new MethodInsnNode(Opcodes.INVOKESTATIC, INLINED, name, descriptor, false);
+    }
+}
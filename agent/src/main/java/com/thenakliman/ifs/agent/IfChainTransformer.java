@@ -0,0 +1,311 @@
+package com.thenakliman.ifs.agent;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.charset.StandardCharsets;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class IfChainTransformer implements ClassFileTransformer {
+    private static final byte[] IF = "com/thenakliman/ifs/If".getBytes(StandardCharsets.UTF_8);
+    private static final String LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory";
+
+    private final AtomicInteger callSites = new AtomicInteger();
+    private final AtomicInteger classes = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private static final class Match {
+        private final ChainPattern pattern;
+        private final MethodInsnNode entry;
+        private final MethodInsnNode then;
+        private final MethodInsnNode terminal;
+
+        private Match(final ChainPattern pattern,
+                      final MethodInsnNode entry,
+                      final MethodInsnNode then,
+                      final MethodInsnNode terminal) {
+            this.pattern = pattern;
+            this.entry = entry;
+            this.then = then;
+            this.terminal = terminal;
+        }
+    }
+
+    int getCallSites() {
+        return callSites.get();
+    }
+
+    int getClasses() {
+        return classes.get();
+    }
+
+    int getSkipped() {
+        return skipped.get();
+    }
+
+    @Override
+    public byte[] transform(final ClassLoader loader,
+                            final String className,
+                            final Class<?> classBeingRedefined,
+                            final ProtectionDomain protectionDomain,
+                            final byte[] classfileBuffer) {
+        if (className == null || isSkipped(className) || !contains(classfileBuffer, IF)) {
+            return null;
+        }
+
+        try {
+            return rewrite(classfileBuffer);
+        } catch (RuntimeException exception) {
+            // an unexpected class shape or a class file newer than asm is left exactly as javac produced it
+            skipped.incrementAndGet();
+            return null;
+        }
+    }
+
+    byte[] rewrite(final byte[] classfileBuffer) {
+        final ClassNode classNode = new ClassNode();
+        new ClassReader(classfileBuffer).accept(classNode, 0);
+
+        int rewritten = 0;
+        for (final MethodNode method : classNode.methods) {
+            rewritten += rewrite(classNode.name, method);
+        }
+
+        if (rewritten == 0) {
+            return null;
+        }
+
+        // no branch is added or removed, so the stack map frames javac wrote are still valid
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classNode.accept(writer);
+        callSites.addAndGet(rewritten);
+        classes.incrementAndGet();
+        return writer.toByteArray();
+    }
+
+    private static boolean isSkipped(final String className) {
+        return className.startsWith("java/")
+                || className.startsWith("jdk/")
+                || className.startsWith("sun/")
+                || className.startsWith("com/thenakliman/ifs/agent/");
+    }
+
+    private static boolean contains(final byte[] bytes, final byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < part.length && bytes[i + j] == part[j]) {
+                j++;
+            }
+
+            if (j == part.length) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int rewrite(final String owner, final MethodNode method) {
+        if (method.instructions.size() == 0 || !callsIf(method.instructions)) {
+            return 0;
+        }
+
+        final Frame<SourceValue>[] frames;
+        try {
+            frames = new Analyzer<>(new SourceInterpreter()).analyze(owner, method);
+        } catch (AnalyzerException exception) {
+            return 0;
+        }
+
+        final List<Match> matches = new ArrayList<>();
+        for (final AbstractInsnNode instruction : method.instructions.toArray()) {
+            if (instruction instanceof MethodInsnNode) {
+                final Match match = match(method, frames, (MethodInsnNode) instruction);
+                if (match != null) {
+                    matches.add(match);
+                }
+            }
+        }
+
+        for (final Match match : matches) {
+            apply(method.instructions, match);
+        }
+
+        return matches.size();
+    }
+
+    private static boolean callsIf(final InsnList instructions) {
+        for (final AbstractInsnNode instruction : instructions) {
+            if (instruction instanceof MethodInsnNode
+                    && ((MethodInsnNode) instruction).owner.equals("com/thenakliman/ifs/If")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Match match(final MethodNode method,
+                               final Frame<SourceValue>[] frames,
+                               final MethodInsnNode terminal) {
+        for (final ChainPattern pattern : ChainPattern.PATTERNS) {
+            if (!ChainPattern.matches(pattern.terminal, terminal)) {
+                continue;
+            }
+
+            final AbstractInsnNode receiver = receiver(method, frames, terminal);
+            final MethodInsnNode then = pattern.then == null ? null : asCall(receiver);
+            if (pattern.then != null && (then == null || !ChainPattern.matches(pattern.then, then))) {
+                continue;
+            }
+
+            final MethodInsnNode entry = asCall(then == null ? receiver : receiver(method, frames, then));
+            if (entry == null || entry.getOpcode() != Opcodes.INVOKESTATIC || !pattern.isEntry(entry)) {
+                continue;
+            }
+
+            if (isStraight(method, entry, terminal)
+                    && (!pattern.quietElse || isQuiet(then, terminal))) {
+                return new Match(pattern, entry, then, terminal);
+            }
+        }
+
+        return null;
+    }
+
+    private static AbstractInsnNode receiver(final MethodNode method,
+                                             final Frame<SourceValue>[] frames,
+                                             final MethodInsnNode call) {
+        final Frame<SourceValue> frame = frames[method.instructions.indexOf(call)];
+        if (frame == null) {
+            return null;
+        }
+
+        final int arguments = Type.getArgumentTypes(call.desc).length;
+        final Set<AbstractInsnNode> sources = frame.getStack(frame.getStackSize() - arguments - 1).insns;
+        // the receiver has to come straight from the previous call, not through a local or a dup
+        return sources.size() == 1 ? sources.iterator().next() : null;
+    }
+
+    private static MethodInsnNode asCall(final AbstractInsnNode instruction) {
+        return instruction instanceof MethodInsnNode ? (MethodInsnNode) instruction : null;
+    }
+
+    private static boolean isStraight(final MethodNode method,
+                                      final AbstractInsnNode entry,
+                                      final AbstractInsnNode terminal) {
+        final Set<LabelNode> handlerLabels = new HashSet<>();
+        for (final TryCatchBlockNode tryCatchBlock : method.tryCatchBlocks) {
+            handlerLabels.add(tryCatchBlock.start);
+            handlerLabels.add(tryCatchBlock.end);
+            handlerLabels.add(tryCatchBlock.handler);
+        }
+
+        for (AbstractInsnNode instruction = entry; instruction != terminal; instruction = instruction.getNext()) {
+            if (instruction == null) {
+                return false;
+            }
+
+            switch (instruction.getType()) {
+                case AbstractInsnNode.JUMP_INSN:
+                case AbstractInsnNode.TABLESWITCH_INSN:
+                case AbstractInsnNode.LOOKUPSWITCH_INSN:
+                case AbstractInsnNode.FRAME:
+                    return false;
+                case AbstractInsnNode.LABEL:
+                    if (handlerLabels.contains(instruction)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (isStackCopy(instruction.getOpcode())) {
+                        return false;
+                    }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isStackCopy(final int opcode) {
+        return opcode >= Opcodes.DUP && opcode <= Opcodes.SWAP;
+    }
+
+    // the then branch ran before the else argument was evaluated, which is only
+    // unobservable when the else argument is a plain load, a constant or a lambda
+    private static boolean isQuiet(final AbstractInsnNode then, final AbstractInsnNode terminal) {
+        for (AbstractInsnNode instruction = then.getNext(); instruction != terminal; instruction = instruction.getNext()) {
+            final int opcode = instruction.getOpcode();
+            switch (instruction.getType()) {
+                case AbstractInsnNode.LABEL:
+                case AbstractInsnNode.LINE:
+                case AbstractInsnNode.VAR_INSN:
+                case AbstractInsnNode.LDC_INSN:
+                    break;
+                case AbstractInsnNode.INSN:
+                    if (opcode > Opcodes.DCONST_1) {
+                        return false;
+                    }
+                    break;
+                case AbstractInsnNode.INT_INSN:
+                    if (opcode == Opcodes.NEWARRAY) {
+                        return false;
+                    }
+                    break;
+                case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+                    final Handle bootstrap = ((InvokeDynamicInsnNode) instruction).bsm;
+                    if (!LAMBDA_METAFACTORY.equals(bootstrap.getOwner())) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+
+            if (opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void apply(final InsnList instructions, final Match match) {
+        if (match.pattern.negated) {
+            instructions.insertBefore(match.entry, new InsnNode(Opcodes.ICONST_1));
+            instructions.insertBefore(match.entry, new InsnNode(Opcodes.IXOR));
+        }
+
+        instructions.remove(match.entry);
+        if (match.then != null) {
+            instructions.remove(match.then);
+        }
+
+        final MethodInsnNode replacement = match.pattern.replacement;
+        instructions.set(match.terminal, new MethodInsnNode(
+                replacement.getOpcode(), replacement.owner, replacement.name, replacement.desc, replacement.itf));
+    }
+}
@@ -0,0 +1,35 @@
+package com.thenakliman.ifs.agent;
+
+import java.lang.instrument.Instrumentation;
+
+public final class IfInliningAgent {
+    static final String DISABLED = "if.agent.disabled";
+
+    private IfInliningAgent() {
+        // Not allowed to create instance
+    }
+
+    public static void premain(final String arguments, final Instrumentation instrumentation) {
+        install(arguments, instrumentation);
+    }
+
+    public static void agentmain(final String arguments, final Instrumentation instrumentation) {
+        // only classes loaded from now on are rewritten, loaded ones keep the fluent chains
+        install(arguments, instrumentation);
+    }
+
+    private static void install(final String arguments, final Instrumentation instrumentation) {
+        if (Boolean.getBoolean(DISABLED)) {
+            return;
+        }
+
+        final IfChainTransformer transformer = new IfChainTransformer();
+        instrumentation.addTransformer(transformer);
+        if ("verbose".equals(arguments)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(
+                    "IfInlining agent rewrote " + transformer.getCallSites()
+                            + " call site(s) in " + transformer.getClasses() + " class(es), skipped "
+                            + transformer.getSkipped() + " class(es) it could not read")));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.thenakliman.ifs;
+
+public class AgentSample {
+    private static int calls;
+
+    public static String value(final boolean expression) {
+        return If.isTrue(expression).thenValue("high").elseValue("low");
+    }
+
+    public static String negated(final boolean expression) {
+        return If.isFalse(expression).thenValue("high").elseGet(() -> "low");
+    }
+
+    public static long number(final boolean expression, final long value) {
+        return If.isTrue(expression).thenLong(value).elseValue(value * 2);
+    }
+
+    public static Integer get(final boolean expression, final int value) {
+        return If.isTrue(expression).thenGet(() -> value * 2).elseGet(() -> value + 1);
+    }
+
+    public static String nullValue(final String value) {
+        return If.isNull(value).thenValue("none").elseMap(String::toUpperCase);
+    }
+
+    public static int call(final boolean expression) {
+        calls = 0;
+        If.isTrue(expression).thenCall(() -> calls += 1).elseCall(() -> calls += 10);
+        If.isFalseThen(expression).thenCall(() -> calls += 100);
+        return calls;
+    }
+
+    public static void check(final boolean expression) {
+        If.isTrueThen(expression).thenThrow(IllegalStateException::new);
+    }
+
+    public static Integer effect(final boolean expression) {
+        // then supplier runs before the else argument is evaluated, so this one stays a chain
+        return If.isTrue(expression).thenGet(() -> calls).elseValue(count());
+    }
+
+    private static int count() {
+        calls += 10;
+        return calls;
+    }
+}
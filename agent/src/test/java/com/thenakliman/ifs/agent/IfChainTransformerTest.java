@@ -0,0 +1,150 @@
+package com.thenakliman.ifs.agent;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class IfChainTransformerTest {
+    private static final String SAMPLE = "com.thenakliman.ifs.AgentSample";
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private IfChainTransformer transformer;
+    private Class<?> sample;
+
+    private static final class RewritingLoader extends ClassLoader {
+        private final IfChainTransformer transformer;
+
+        private RewritingLoader(final IfChainTransformer transformer) {
+            super(IfChainTransformerTest.class.getClassLoader());
+            this.transformer = transformer;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            // the sample and If must be defined by one loader, If is package private
+            if (!name.startsWith("com.thenakliman.ifs.") || name.startsWith("com.thenakliman.ifs.agent.")) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                final Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+
+                final byte[] bytes = read(name);
+                final byte[] rewritten = transformer.transform(this, name.replace('.', '/'), null, null, bytes);
+                final byte[] defined = rewritten == null ? bytes : rewritten;
+                return defineClass(name, defined, 0, defined.length);
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        transformer = new IfChainTransformer();
+        sample = new RewritingLoader(transformer).loadClass(SAMPLE);
+    }
+
+    @Test
+    public void transform_rewriteProvableChains_whenClassCallsIf() {
+        // value, negated, number, get, nullValue, two in call and check, effect is left alone
+        assertThat(transformer.getCallSites(), is(8));
+        assertThat(transformer.getClasses(), is(1));
+    }
+
+    @Test
+    public void transform_readSample_whenSampleIsCompiledAtRuntimeRelease() throws Exception {
+        final byte[] bytes = read(SAMPLE);
+        final int major = ((bytes[6] & 0xff) << 8) | (bytes[7] & 0xff);
+
+        assertThat(major, is(44 + Runtime.version().feature()));
+        assertThat(transformer.getSkipped(), is(0));
+    }
+
+    @Test
+    public void transform_countSkippedClass_whenClassFileCannotBeRead() {
+        final byte[] bytes = "\u00ca\u00fe\u00ba\u00be com/thenakliman/ifs/If".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThat(transformer.transform(null, "com/thenakliman/ifs/Broken", null, null, bytes), is(nullValue()));
+        assertThat(transformer.getSkipped(), is(1));
+    }
+
+    @Test
+    public void transform_keepResults_whenChainsAreRewritten() throws Exception {
+        assertThat(invoke("value", true), is("high"));
+        assertThat(invoke("value", false), is("low"));
+        assertThat(invoke("negated", true), is("low"));
+        assertThat(invoke("negated", false), is("high"));
+        assertThat(invoke("number", true, 5L), is(5L));
+        assertThat(invoke("number", false, 5L), is(10L));
+        assertThat(invoke("get", true, 5), is(10));
+        assertThat(invoke("get", false, 5), is(6));
+        assertThat(invoke("nullValue", (Object) null), is("none"));
+        assertThat(invoke("nullValue", "value"), is("VALUE"));
+        assertThat(invoke("call", true), is(1));
+        assertThat(invoke("call", false), is(110));
+    }
+
+    @Test
+    public void transform_keepEvaluationOrder_whenElseArgumentHasSideEffects() throws Exception {
+        invoke("call", true);
+
+        assertThat(invoke("effect", true), is(1));
+    }
+
+    @Test
+    public void transform_throwThenThrowException_whenRewrittenCheckIsTrue() throws Throwable {
+        invoke("check", false);
+
+        expectedException.expect(IllegalStateException.class);
+        try {
+            invoke("check", true);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private Object invoke(final String name, final Object... arguments) throws Exception {
+        for (final Method method : sample.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method.invoke(null, arguments);
+            }
+        }
+
+        throw new AssertionError("no method " + name);
+    }
+
+    private static byte[] read(final String name) throws ClassNotFoundException {
+        final String resource = name.replace('.', '/') + ".class";
+        try (InputStream input = IfChainTransformerTest.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new ClassNotFoundException(name);
+            }
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+                output.write(buffer, 0, read);
+            }
+
+            return output.toByteArray();
+        } catch (IOException exception) {
+            throw new ClassNotFoundException(name, exception);
+        }
+    }
+}
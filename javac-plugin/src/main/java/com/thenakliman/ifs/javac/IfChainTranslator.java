@@ -0,0 +1,332 @@
+package com.thenakliman.ifs.javac;
+
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.tools.javac.code.Kinds;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.tree.TreeTranslator;
+import com.sun.tools.javac.util.List;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+final class IfChainTranslator extends TreeTranslator {
+    private static final String PACKAGE = "com.thenakliman.ifs.";
+    private static final String IF = PACKAGE + "If";
+    private static final Set<String> EXPRESSION_THEN = owners("IfExpression.IExpressionThen");
+    private static final Set<String> EXPRESSION_ELSE = owners(
+            "IfExpression.IElse",
+            "PrimitiveExpression.IIntElse",
+            "PrimitiveExpression.ILongElse",
+            "PrimitiveExpression.IDoubleElse");
+    private static final Set<String> THEN_VALUES = new HashSet<>(Arrays.asList(
+            "thenValue", "thenGet", "thenInt", "thenLong", "thenDouble"));
+    private static final Set<String> ELSE_VALUES = new HashSet<>(Arrays.asList("elseValue", "elseGet"));
+    private static final Set<String> THEN_CALL = Collections.singleton("thenCall");
+    private static final Set<String> SUPPLIERS = new HashSet<>(Arrays.asList(
+            "java.util.function.Supplier",
+            "java.util.function.IntSupplier",
+            "java.util.function.LongSupplier",
+            "java.util.function.DoubleSupplier"));
+    private static final String CALLABLE = PACKAGE + "IfExpression.Callable";
+
+    private final TreeMaker maker;
+    private int rewritten;
+
+    IfChainTranslator(final TreeMaker maker) {
+        this.maker = maker;
+    }
+
+    int rewritten() {
+        return rewritten;
+    }
+
+    // If.isTrue(c).thenX(a).elseY(b) and If.orElse(c, a, b) become c ? a : b
+    @Override
+    public void visitApply(final JCTree.JCMethodInvocation tree) {
+        super.visitApply(tree);
+        JCTree.JCExpression replacement = valueChain(tree);
+        if (replacement == null) {
+            replacement = orElse(tree);
+        }
+
+        if (replacement != null) {
+            rewritten++;
+            result = replacement;
+        }
+    }
+
+    // If.isTrue(c).thenCall(a).elseCall(b), If.isTrueThen(c).thenCall(a) and If.isTrueThen(c, a)
+    // statements become if (c) a else b
+    @Override
+    public void visitExec(final JCTree.JCExpressionStatement tree) {
+        super.visitExec(tree);
+        final JCTree.JCExpression expression = TreeInfo.skipParens(tree.expr);
+        if (!(expression instanceof JCTree.JCMethodInvocation)) {
+            return;
+        }
+
+        final JCTree.JCStatement replacement = callChain((JCTree.JCMethodInvocation) expression);
+        if (replacement != null) {
+            rewritten++;
+            result = replacement;
+        }
+    }
+
+    private JCTree.JCExpression valueChain(final JCTree.JCMethodInvocation elseCall) {
+        if (!isCall(elseCall, EXPRESSION_ELSE, ELSE_VALUES)) {
+            return null;
+        }
+
+        final JCTree.JCMethodInvocation thenCall = receiver(elseCall);
+        if (thenCall == null || !isCall(thenCall, EXPRESSION_THEN, THEN_VALUES)) {
+            return null;
+        }
+
+        final JCTree.JCMethodInvocation entry = receiver(thenCall);
+        if (entry == null || !isEntry(entry, "isTrue", "isFalse")) {
+            return null;
+        }
+
+        final JCTree.JCExpression thenBranch = valueBranch(thenCall, 0);
+        final JCTree.JCExpression elseBranch = valueBranch(elseCall, 0);
+        if (thenBranch == null || elseBranch == null) {
+            return null;
+        }
+
+        if (isNamed(entry, "isFalse")) {
+            return conditional(elseCall, entry.args.head, elseBranch, thenBranch);
+        }
+
+        return conditional(elseCall, entry.args.head, thenBranch, elseBranch);
+    }
+
+    private JCTree.JCExpression orElse(final JCTree.JCMethodInvocation tree) {
+        final Symbol.MethodSymbol symbol = symbol(tree);
+        if (symbol == null || !isIf(symbol) || !isNamed(tree, "orElse") || tree.args.size() != 3
+                || !isBoolean(parameter(symbol, 0)) || symbol.getReturnType().hasTag(TypeTag.VOID)) {
+            return null;
+        }
+
+        final JCTree.JCExpression thenBranch = valueBranch(tree, 1);
+        final JCTree.JCExpression elseBranch = valueBranch(tree, 2);
+        if (thenBranch == null || elseBranch == null) {
+            return null;
+        }
+
+        return conditional(tree, tree.args.head, thenBranch, elseBranch);
+    }
+
+    private JCTree.JCStatement callChain(final JCTree.JCMethodInvocation tree) {
+        final Symbol.MethodSymbol symbol = symbol(tree);
+        if (symbol == null) {
+            return null;
+        }
+
+        if (isIf(symbol) && isNamed(tree, "isTrueThen") && tree.args.size() == 2 && isBoolean(parameter(symbol, 0))) {
+            final JCTree.JCStatement body = callBranch(tree, 1);
+            return body == null ? null : maker.at(tree.pos).If(tree.args.head, body, null);
+        }
+
+        final String owner = symbol.owner.getQualifiedName().toString();
+        if (owner.equals(PACKAGE + "IfOnly.IExecute") && isNamed(tree, "thenCall")) {
+            final JCTree.JCMethodInvocation entry = receiver(tree);
+            if (entry == null || !isEntry(entry, "isTrueThen", "isFalseThen")) {
+                return null;
+            }
+
+            return ifStatement(tree, entry, callBranch(tree, 0), emptyBranch(tree));
+        }
+
+        if (!owner.equals(PACKAGE + "IfExpression.IElseCall")
+                || !(isNamed(tree, "elseCall") || isNamed(tree, "elseDoNothing"))) {
+            return null;
+        }
+
+        final JCTree.JCMethodInvocation thenCall = receiver(tree);
+        if (thenCall == null || !isCall(thenCall, EXPRESSION_THEN, THEN_CALL)) {
+            return null;
+        }
+
+        final JCTree.JCMethodInvocation entry = receiver(thenCall);
+        if (entry == null || !isEntry(entry, "isTrue", "isFalse")) {
+            return null;
+        }
+
+        final JCTree.JCStatement elseBranch = isNamed(tree, "elseCall") ? callBranch(tree, 0) : emptyBranch(tree);
+        return ifStatement(tree, entry, callBranch(thenCall, 0), elseBranch);
+    }
+
+    private JCTree.JCStatement ifStatement(final JCTree.JCMethodInvocation tree,
+                                           final JCTree.JCMethodInvocation entry,
+                                           final JCTree.JCStatement thenBranch,
+                                           final JCTree.JCStatement elseBranch) {
+        if (thenBranch == null || elseBranch == null) {
+            return null;
+        }
+
+        if (isNamed(entry, "isFalse") || isNamed(entry, "isFalseThen")) {
+            return maker.at(tree.pos).If(entry.args.head, elseBranch, thenBranch);
+        }
+
+        return maker.at(tree.pos).If(entry.args.head, thenBranch, elseBranch);
+    }
+
+    private JCTree.JCExpression conditional(final JCTree.JCMethodInvocation tree,
+                                            final JCTree.JCExpression condition,
+                                            final JCTree.JCExpression thenBranch,
+                                            final JCTree.JCExpression elseBranch) {
+        final JCTree.JCConditional conditional = maker.at(tree.pos).Conditional(condition, thenBranch, elseBranch);
+        conditional.type = tree.type;
+        conditional.polyKind = JCTree.JCPolyExpression.PolyKind.STANDALONE;
+        return conditional;
+    }
+
+    // suppliers are only called on their own branch, so any expression lambda is fine, while
+    // values are evaluated eagerly by the library and must not have side effects to be dropped
+    private JCTree.JCExpression valueBranch(final JCTree.JCMethodInvocation tree, final int index) {
+        final JCTree.JCExpression argument = TreeInfo.skipParens(tree.args.get(index));
+        final Type parameter = parameter(symbol(tree), index);
+        if (parameter != null && SUPPLIERS.contains(parameter.tsym.getQualifiedName().toString())) {
+            final JCTree.JCLambda lambda = lambda(argument);
+            if (lambda == null || lambda.getBodyKind() != LambdaExpressionTree.BodyKind.EXPRESSION) {
+                return null;
+            }
+
+            return (JCTree.JCExpression) lambda.body;
+        }
+
+        return isPure(argument) ? tree.args.get(index) : null;
+    }
+
+    private JCTree.JCStatement callBranch(final JCTree.JCMethodInvocation tree, final int index) {
+        final Type parameter = parameter(symbol(tree), index);
+        if (parameter == null || !CALLABLE.equals(parameter.tsym.getQualifiedName().toString())) {
+            return null;
+        }
+
+        final JCTree.JCLambda lambda = lambda(TreeInfo.skipParens(tree.args.get(index)));
+        if (lambda == null) {
+            return null;
+        }
+
+        if (lambda.getBodyKind() == LambdaExpressionTree.BodyKind.EXPRESSION) {
+            return maker.at(lambda.body.pos).Exec((JCTree.JCExpression) lambda.body);
+        }
+
+        return returns(lambda.body) ? null : (JCTree.JCStatement) lambda.body;
+    }
+
+    private JCTree.JCStatement emptyBranch(final JCTree.JCMethodInvocation tree) {
+        return maker.at(tree.pos).Block(0, List.nil());
+    }
+
+    private static JCTree.JCLambda lambda(final JCTree.JCExpression argument) {
+        if (argument instanceof JCTree.JCLambda && ((JCTree.JCLambda) argument).params.isEmpty()) {
+            return (JCTree.JCLambda) argument;
+        }
+
+        return null;
+    }
+
+    private static boolean returns(final JCTree body) {
+        final boolean[] found = new boolean[1];
+        new TreeScanner() {
+            @Override
+            public void visitReturn(final JCTree.JCReturn tree) {
+                found[0] = true;
+            }
+
+            @Override
+            public void visitLambda(final JCTree.JCLambda tree) {
+                // return of a nested lambda stays inside it
+            }
+
+            @Override
+            public void visitClassDef(final JCTree.JCClassDecl tree) {
+                // return of a nested class stays inside it
+            }
+        }.scan(body);
+        return found[0];
+    }
+
+    private static boolean isPure(final JCTree.JCExpression expression) {
+        if (expression instanceof JCTree.JCLiteral) {
+            return true;
+        }
+
+        final Symbol symbol = TreeInfo.symbol(expression);
+        if (expression instanceof JCTree.JCIdent) {
+            return symbol != null && symbol.kind == Kinds.Kind.VAR;
+        }
+
+        return expression instanceof JCTree.JCFieldAccess
+                && symbol != null && symbol.kind == Kinds.Kind.VAR && symbol.isStatic();
+    }
+
+    private static boolean isEntry(final JCTree.JCMethodInvocation tree, final String... names) {
+        final Symbol.MethodSymbol symbol = symbol(tree);
+        return symbol != null && isIf(symbol) && tree.args.size() == 1
+                && Arrays.asList(names).contains(symbol.getSimpleName().toString())
+                && isBoolean(parameter(symbol, 0));
+    }
+
+    private static boolean isCall(final JCTree.JCMethodInvocation tree, final Set<String> owners, final Set<String> names) {
+        final Symbol.MethodSymbol symbol = symbol(tree);
+        return symbol != null && tree.args.size() <= 1
+                && owners.contains(symbol.owner.getQualifiedName().toString())
+                && names.contains(symbol.getSimpleName().toString());
+    }
+
+    private static boolean isIf(final Symbol.MethodSymbol symbol) {
+        return symbol.isStatic() && IF.equals(symbol.owner.getQualifiedName().toString());
+    }
+
+    private static boolean isNamed(final JCTree.JCMethodInvocation tree, final String name) {
+        final Symbol.MethodSymbol symbol = symbol(tree);
+        return symbol != null && symbol.getSimpleName().contentEquals(name);
+    }
+
+    private static boolean isBoolean(final Type type) {
+        return type != null && type.hasTag(TypeTag.BOOLEAN);
+    }
+
+    private static Type parameter(final Symbol.MethodSymbol symbol, final int index) {
+        if (symbol == null) {
+            return null;
+        }
+
+        final List<Type> parameters = symbol.type.getParameterTypes();
+        return index < parameters.size() ? parameters.get(index) : null;
+    }
+
+    private static JCTree.JCMethodInvocation receiver(final JCTree.JCMethodInvocation tree) {
+        if (!(tree.meth instanceof JCTree.JCFieldAccess)) {
+            return null;
+        }
+
+        final JCTree.JCExpression selected = TreeInfo.skipParens(((JCTree.JCFieldAccess) tree.meth).selected);
+        return selected instanceof JCTree.JCMethodInvocation ? (JCTree.JCMethodInvocation) selected : null;
+    }
+
+    private static Symbol.MethodSymbol symbol(final JCTree.JCMethodInvocation tree) {
+        final Symbol symbol = TreeInfo.symbol(tree.meth);
+        return symbol instanceof Symbol.MethodSymbol ? (Symbol.MethodSymbol) symbol : null;
+    }
+
+    private static Set<String> owners(final String... names) {
+        final Set<String> qualified = new HashSet<>();
+        for (final String name : names) {
+            qualified.add(PACKAGE + name);
+        }
+
+        return qualified;
+    }
+}
@@ -0,0 +1,56 @@
+package com.thenakliman.ifs.javac;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Log;
+
+import java.util.Arrays;
+
+public final class IfInliningPlugin implements Plugin {
+    static final String NAME = "IfInlining";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void init(final JavacTask task, final String... args) {
+        final Context context = ((BasicJavacTask) task).getContext();
+        final boolean verbose = Arrays.asList(args).contains("verbose");
+        final Trees trees = Trees.instance(task);
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void started(final TaskEvent event) {
+                // rewriting happens once analysis is finished
+            }
+
+            @Override
+            public void finished(final TaskEvent event) {
+                if (event.getKind() != TaskEvent.Kind.ANALYZE || event.getTypeElement() == null) {
+                    return;
+                }
+
+                final JCTree tree = (JCTree) trees.getTree(event.getTypeElement());
+                if (tree == null) {
+                    return;
+                }
+
+                final IfChainTranslator translator = new IfChainTranslator(TreeMaker.instance(context));
+                translator.translate(tree);
+                if (verbose && translator.rewritten() > 0) {
+                    Log.instance(context).printRawLines(Log.WriterKind.NOTICE, String.format(
+                            "%s: rewrote %d If call site(s) in %s",
+                            NAME, translator.rewritten(), event.getTypeElement().getQualifiedName()));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.thenakliman.ifs.javac;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IfInliningPluginTest {
+    private static final String HEADER = "package com.thenakliman.ifs;\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path sources;
+    private Path classes;
+
+    @Before
+    public void setUp() throws Exception {
+        sources = temporaryFolder.newFolder("sources").toPath();
+        classes = temporaryFolder.newFolder("classes").toPath();
+    }
+
+    @Test
+    public void compile_removeCallsToIf_whenChainsAreProvable() throws Exception {
+        compile("Provable",
+                "public class Provable {\n" +
+                "    static final String HIGH = \"high\";\n" +
+                "    public static String value(boolean c) { return If.isTrue(c).thenValue(HIGH).elseValue(\"low\"); }\n" +
+                "    public static int number(boolean c) { return If.isFalse(c).thenInt(1).elseValue(2); }\n" +
+                "    public static Integer get(boolean c, int x) { return If.isTrue(c).thenGet(() -> x * 2).elseGet(() -> x + 1); }\n" +
+                "    public static double orElse(boolean c) { return If.orElse(c, 1.5, 2.5); }\n" +
+                "    public static int call(boolean c) {\n" +
+                "        final int[] calls = new int[1];\n" +
+                "        If.isTrue(c).thenCall(() -> calls[0] += 1).elseCall(() -> { int k = 10; calls[0] += k; });\n" +
+                "        If.isFalseThen(c).thenCall(() -> calls[0] += 100);\n" +
+                "        If.isTrueThen(c, () -> calls[0] += 1000);\n" +
+                "        return calls[0];\n" +
+                "    }\n" +
+                "}\n");
+
+        assertThat(referencesIf("Provable"), is(false));
+        assertThat(invoke("Provable", "value", true), is("high"));
+        assertThat(invoke("Provable", "value", false), is("low"));
+        assertThat(invoke("Provable", "number", true), is(2));
+        assertThat(invoke("Provable", "number", false), is(1));
+        assertThat(invoke("Provable", "get", true, 5), is(10));
+        assertThat(invoke("Provable", "get", false, 5), is(6));
+        assertThat(invoke("Provable", "orElse", false), is(2.5));
+        assertThat(invoke("Provable", "call", true), is(1001));
+        assertThat(invoke("Provable", "call", false), is(110));
+    }
+
+    @Test
+    public void compile_keepCallsToIf_whenValueArgumentHasSideEffects() throws Exception {
+        compile("SideEffect",
+                "public class SideEffect {\n" +
+                "    static int calls;\n" +
+                "    static String compute() { calls++; return \"computed\"; }\n" +
+                "    public static int value(boolean c) { If.isTrue(c).thenValue(compute()).elseValue(\"x\"); return calls; }\n" +
+                "}\n");
+
+        assertThat(referencesIf("SideEffect"), is(true));
+        assertThat(invoke("SideEffect", "value", false), is(1));
+    }
+
+    @Test
+    public void compile_keepCallsToIf_whenCallableHasReturn() throws Exception {
+        compile("EarlyReturn",
+                "public class EarlyReturn {\n" +
+                "    public static int call(boolean c) {\n" +
+                "        final int[] calls = new int[1];\n" +
+                "        If.isTrue(c).thenCall(() -> { if (c) { return; } calls[0]++; }).elseCall(() -> calls[0] += 2);\n" +
+                "        return calls[0] + 10;\n" +
+                "    }\n" +
+                "}\n");
+
+        assertThat(referencesIf("EarlyReturn"), is(true));
+        assertThat(invoke("EarlyReturn", "call", true), is(10));
+        assertThat(invoke("EarlyReturn", "call", false), is(12));
+    }
+
+    private void compile(final String name, final String body) throws Exception {
+        final Path source = sources.resolve(name + ".java");
+        Files.write(source, (HEADER + body).getBytes(StandardCharsets.UTF_8));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final int status = compiler.run(null, null, null,
+                "-classpath", System.getProperty("java.class.path"),
+                "-Xplugin:" + IfInliningPlugin.NAME,
+                "-d", classes.toString(),
+                source.toString());
+
+        assertThat(status, is(0));
+    }
+
+    private boolean referencesIf(final String name) throws Exception {
+        final byte[] bytes = Files.readAllBytes(classes.resolve("com/thenakliman/ifs/" + name + ".class"));
+        final byte[] entry = "com/thenakliman/ifs/If".getBytes(StandardCharsets.UTF_8);
+        // CONSTANT_Utf8 entry holding exactly the class name of If
+        for (int i = 0; i + entry.length + 3 <= bytes.length; i++) {
+            if (bytes[i] == 1 && bytes[i + 1] == 0 && bytes[i + 2] == entry.length && matches(bytes, i + 3, entry)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(final byte[] bytes, final int offset, final byte[] entry) {
+        for (int i = 0; i < entry.length; i++) {
+            if (bytes[offset + i] != entry[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Object invoke(final String name, final String method, final Object... arguments) throws Exception {
+        // samples and If must share a class loader, If is package private
+        final URL library = Class.forName("com.thenakliman.ifs.If").getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[]{classes.toUri().toURL(), library}, ClassLoader.getPlatformClassLoader())) {
+            final Class<?> type = loader.loadClass("com.thenakliman.ifs." + name);
+            for (final Method candidate : type.getMethods()) {
+                if (candidate.getName().equals(method)) {
+                    return candidate.invoke(null, arguments);
+                }
+            }
+        }
+
+        throw new AssertionError("no method " + method + " in " + name);
+    }
+}
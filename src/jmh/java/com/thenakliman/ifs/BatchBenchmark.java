@@ -0,0 +1,57 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+    private static final int LENGTH = 1 << 20;
+
+    private static final CompiledExpression<Integer, String> GRADE = If.<Integer>compile(score -> score >= 90)
+            .thenValue("A")
+            .elseIf(score -> score >= 75)
+            .thenValue("B")
+            .elseIf(score -> score >= 50)
+            .thenValue("C")
+            .elseValue("F")
+            .build();
+
+    private final Integer[] scores = new Integer[LENGTH];
+    private final String[] grades = new String[LENGTH];
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < LENGTH; i++) {
+            scores[i] = random.nextInt(100);
+        }
+    }
+
+    @Benchmark
+    public String[] evaluateAll() {
+        GRADE.evaluateAll(scores, grades);
+        return grades;
+    }
+
+    @Benchmark
+    public String[] evaluateAllParallel() {
+        GRADE.evaluateAllParallel(scores, grades);
+        return grades;
+    }
+}
@@ -0,0 +1,78 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 10k chains whose branch blocks for a millisecond, as a JDBC call or a file read would;
+// BLOCKING is If.newBlockingBranchExecutor(), virtual threads on JDK 21 and later and a cached
+// pool of platform threads before
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingBranchBenchmark {
+    private static final int CHAINS = 10_000;
+
+    public enum Pool {
+        PLATFORM,
+        BLOCKING
+    }
+
+    @Param({"PLATFORM", "BLOCKING"})
+    public Pool pool;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = pool == Pool.PLATFORM
+                ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4)
+                : If.newBlockingBranchExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object isTrueAsync_blockingThenGet() {
+        final CompletableFuture<?>[] results = new CompletableFuture<?>[CHAINS];
+        for (int i = 0; i < CHAINS; i++) {
+            final int key = i;
+            results[i] = If.isTrueAsync(CompletableFuture.completedFuture((key & 1) == 0), executor)
+                    .thenGet(() -> lookup(key))
+                    .elseGet(() -> lookup(-key))
+                    .toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(results).join();
+    }
+
+    private static int lookup(final int key) {
+        try {
+            Thread.sleep(1);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return key;
+    }
+}
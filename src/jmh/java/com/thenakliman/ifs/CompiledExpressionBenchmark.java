@@ -0,0 +1,92 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledExpressionBenchmark {
+    private static final CompiledExpression<Integer, String> LINEAR = ladder().build();
+    private static final CompiledExpression<Integer, String> METHOD_HANDLE = ladder().buildMethodHandle();
+    private static final CompiledExpression<Integer, String> SKEWED_LINEAR = skewed().build();
+    private static final CompiledExpression<Integer, String> SKEWED_ADAPTIVE = skewed().buildAdaptive();
+
+    private static CompiledExpression.IBuild<Integer, String> ladder() {
+        return If.<Integer>compile(number -> number < 1024)
+                .thenValue("first")
+                .elseIf(number -> number < 2048)
+                .thenValue("second")
+                .elseIf(number -> number < 3072)
+                .thenValue("third")
+                .elseValue("fourth");
+    }
+
+    // exclusive ranges where the last one written matches seven numbers out of eight
+    private static CompiledExpression.IBuild<Integer, String> skewed() {
+        return If.<Integer>compile(number -> number < 128)
+                .thenValue("first")
+                .elseIf(number -> number >= 128 && number < 256)
+                .thenValue("second")
+                .elseIf(number -> number >= 256 && number < 512)
+                .thenValue("third")
+                .elseIf(number -> number >= 512)
+                .thenValue("fourth")
+                .elseValue("none");
+    }
+
+    @Benchmark
+    public String baseline_ifElse(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        if (number < 1024) {
+            return "first";
+        } else if (number < 2048) {
+            return "second";
+        } else if (number < 3072) {
+            return "third";
+        }
+
+        return "fourth";
+    }
+
+    @Benchmark
+    public String isTrue_thenValueElseIfChain(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        return If.isTrue(number < 1024)
+                .thenValue("first")
+                .elseIf(number < 2048)
+                .thenValue("second")
+                .elseIf(number < 3072)
+                .thenValue("third")
+                .elseValue("fourth");
+    }
+
+    @Benchmark
+    public String compile_build(final Conditions conditions) {
+        return LINEAR.apply(conditions.nextNumber());
+    }
+
+    @Benchmark
+    public String compile_buildMethodHandle(final Conditions conditions) {
+        return METHOD_HANDLE.apply(conditions.nextNumber());
+    }
+
+    @Benchmark
+    public String compile_skewedBuild(final Conditions conditions) {
+        return SKEWED_LINEAR.apply(conditions.nextNumber());
+    }
+
+    @Benchmark
+    public String compile_skewedBuildAdaptive(final Conditions conditions) {
+        return SKEWED_ADAPTIVE.apply(conditions.nextNumber());
+    }
+}
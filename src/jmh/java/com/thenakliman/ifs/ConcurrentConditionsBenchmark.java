@@ -0,0 +1,59 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// five independent 2 ms checks that all pass, the worst case for allTrue
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentConditionsBenchmark {
+    private static final BooleanSupplier CHECK = () -> {
+        try {
+            Thread.sleep(2);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return true;
+    };
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String allTrue_sequential() {
+        return If.allTrue(CHECK, CHECK, CHECK, CHECK, CHECK).thenValue("allowed").elseValue("denied");
+    }
+
+    @Benchmark
+    public String allTrue_parallel() {
+        return If.allTrue(executor, CHECK, CHECK, CHECK, CHECK, CHECK).thenValue("allowed").elseValue("denied");
+    }
+}
@@ -0,0 +1,60 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class Conditions {
+    private static final int SIZE = 1 << 12;
+    private static final int MASK = SIZE - 1;
+
+    public enum Distribution {
+        PREDICTABLE,
+        RANDOM,
+        SKEWED
+    }
+
+    @Param({"PREDICTABLE", "RANDOM", "SKEWED"})
+    public Distribution distribution;
+
+    private final boolean[] conditions = new boolean[SIZE];
+    private final String[] values = new String[SIZE];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            conditions[i] = next(distribution, random, i);
+            values[i] = conditions[i] ? null : "value-" + i;
+        }
+    }
+
+    private static boolean next(final Distribution distribution, final Random random, final int i) {
+        switch (distribution) {
+            case PREDICTABLE:
+                return (i & 1) == 0;
+            case SKEWED:
+                // one condition in twenty goes the other way
+                return random.nextInt(20) != 0;
+            default:
+                return random.nextBoolean();
+        }
+    }
+
+    boolean next() {
+        return conditions[index++ & MASK];
+    }
+
+    int nextNumber() {
+        return index++ & MASK;
+    }
+
+    String nextValue() {
+        return values[index++ & MASK];
+    }
+}
@@ -0,0 +1,125 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IfExpressionBenchmark {
+    private static final Integer HIGHWAY = 160;
+    private static final Integer CITY = 40;
+
+    private int counter;
+
+    @Benchmark
+    public Integer baseline_ifElse(final Conditions conditions) {
+        if (conditions.next()) {
+            return HIGHWAY;
+        }
+
+        return CITY;
+    }
+
+    @Benchmark
+    public Integer baseline_ternary(final Conditions conditions) {
+        return conditions.next() ? HIGHWAY : CITY;
+    }
+
+    @Benchmark
+    public Integer isTrue_thenValueElseValue(final Conditions conditions) {
+        return If.isTrue(conditions.next())
+                .thenValue(HIGHWAY)
+                .elseValue(CITY);
+    }
+
+    @Benchmark
+    public int baseline_primitiveTernary(final Conditions conditions) {
+        return conditions.next() ? 160 : 40;
+    }
+
+    @Benchmark
+    public int isTrue_thenIntElseValue(final Conditions conditions) {
+        return If.isTrue(conditions.next())
+                .thenInt(160)
+                .elseValue(40);
+    }
+
+    @Benchmark
+    public Integer isTrue_thenGetElseGet(final Conditions conditions) {
+        return If.isTrue(conditions.next())
+                .thenGet(() -> HIGHWAY)
+                .elseGet(() -> CITY);
+    }
+
+    @Benchmark
+    public int baseline_elseIfLadder(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        if (number < 1024) {
+            return 1;
+        } else if (number < 2048) {
+            return 2;
+        } else if (number < 3072) {
+            return 3;
+        }
+
+        return 4;
+    }
+
+    @Benchmark
+    public Integer isTrue_thenGetElseIfThenGetElseGet(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        return If.isTrue(number < 1024)
+                .thenGet(() -> 1)
+                .elseIf(number < 2048)
+                .thenGet(() -> 2)
+                .elseIf(number < 3072)
+                .thenGet(() -> 3)
+                .elseGet(() -> 4);
+    }
+
+    @Benchmark
+    public Integer baseline_guardThrow(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        if (number < 0) {
+            throw new IllegalArgumentException("negative");
+        }
+
+        return conditions.next() ? HIGHWAY : CITY;
+    }
+
+    @Benchmark
+    public Integer isTrue_thenThrowElseGet(final Conditions conditions) {
+        final int number = conditions.nextNumber();
+        final boolean highway = conditions.next();
+        return If.isTrue(number < 0)
+                .thenThrow(() -> new IllegalArgumentException("negative"))
+                .elseGet(() -> highway ? HIGHWAY : CITY);
+    }
+
+    @Benchmark
+    public int isTrue_thenCallElseCall(final Conditions conditions) {
+        If.isTrue(conditions.next())
+                .thenCall(() -> counter++)
+                .elseCall(() -> counter--);
+        return counter;
+    }
+
+    @Benchmark
+    public int isTrueThen_thenCall(final Conditions conditions) {
+        If.isTrueThen(conditions.next()).thenCall(() -> counter++);
+        return counter;
+    }
+}
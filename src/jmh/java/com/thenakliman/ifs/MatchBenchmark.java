@@ -0,0 +1,96 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+    private static final int CODES = 16;
+    private static final String[] NAMES = new String[CODES];
+    private static final CompiledExpression<Integer, String> LADDER;
+    private static final CompiledMatch<Integer, String> MATCH;
+
+    static {
+        for (int code = 0; code < CODES; code++) {
+            NAMES[code] = "code-" + code;
+        }
+
+        CompiledExpression.IElse<Integer, String> ladder = If.<Integer>compile(code -> code == 0).thenValue(NAMES[0]);
+        final CompiledMatch.IWhen<Integer, String> match = If.compileMatch();
+        match.whenValue(0, NAMES[0]);
+        for (int code = 1; code < CODES - 1; code++) {
+            final int key = code;
+            ladder = ladder.elseIf(number -> number == key).thenValue(NAMES[code]);
+            match.whenValue(code, NAMES[code]);
+        }
+
+        LADDER = ladder.elseValue(NAMES[CODES - 1]).build();
+        MATCH = match.elseValue(NAMES[CODES - 1]).build();
+    }
+
+    @Benchmark
+    public String baseline_switch(final Conditions conditions) {
+        final int code = conditions.nextNumber() & (CODES - 1);
+        switch (code) {
+            case 0: return NAMES[0];
+            case 1: return NAMES[1];
+            case 2: return NAMES[2];
+            case 3: return NAMES[3];
+            case 4: return NAMES[4];
+            case 5: return NAMES[5];
+            case 6: return NAMES[6];
+            case 7: return NAMES[7];
+            case 8: return NAMES[8];
+            case 9: return NAMES[9];
+            case 10: return NAMES[10];
+            case 11: return NAMES[11];
+            case 12: return NAMES[12];
+            case 13: return NAMES[13];
+            case 14: return NAMES[14];
+            default: return NAMES[15];
+        }
+    }
+
+    @Benchmark
+    public String match_whenValueChain(final Conditions conditions) {
+        final int code = conditions.nextNumber() & (CODES - 1);
+        return If.match(code)
+                .whenValue(0, NAMES[0])
+                .whenValue(1, NAMES[1])
+                .whenValue(2, NAMES[2])
+                .whenValue(3, NAMES[3])
+                .whenValue(4, NAMES[4])
+                .whenValue(5, NAMES[5])
+                .whenValue(6, NAMES[6])
+                .whenValue(7, NAMES[7])
+                .whenValue(8, NAMES[8])
+                .whenValue(9, NAMES[9])
+                .whenValue(10, NAMES[10])
+                .whenValue(11, NAMES[11])
+                .whenValue(12, NAMES[12])
+                .whenValue(13, NAMES[13])
+                .whenValue(14, NAMES[14])
+                .elseValue(NAMES[15]);
+    }
+
+    @Benchmark
+    public String compile_elseIfLadder(final Conditions conditions) {
+        return LADDER.apply(conditions.nextNumber() & (CODES - 1));
+    }
+
+    @Benchmark
+    public String compileMatch_build(final Conditions conditions) {
+        return MATCH.apply(conditions.nextNumber() & (CODES - 1));
+    }
+}
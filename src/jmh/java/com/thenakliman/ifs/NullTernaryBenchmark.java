@@ -0,0 +1,77 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullTernaryBenchmark {
+    private static final String MISSING = "missing";
+    private static final Supplier<String> LAZY_DEFAULT = If.lazy(NullTernaryBenchmark::computeDefault);
+
+    @Benchmark
+    public Integer baseline_ternary(final Conditions conditions) {
+        final String value = conditions.nextValue();
+        return value == null ? 0 : value.length();
+    }
+
+    @Benchmark
+    public Integer isNull_thenValueElseMap(final Conditions conditions) {
+        return If.isNull(conditions.nextValue())
+                .thenValue(0)
+                .elseMap(String::length);
+    }
+
+    @Benchmark
+    public String isNull_thenGetElseValue(final Conditions conditions) {
+        final String value = conditions.nextValue();
+        return If.isNull(value)
+                .thenGet(() -> MISSING)
+                .elseValue(value);
+    }
+
+    @Benchmark
+    public Integer isNull_thenThrowElseMap(final Conditions conditions) {
+        final String value = conditions.nextValue();
+        return If.isNull(value == null ? MISSING : value)
+                .thenThrow(IllegalStateException::new)
+                .elseMap(String::length);
+    }
+
+    @Benchmark
+    public Integer nullOrElse_thenGetElseMap(final Conditions conditions) {
+        return If.nullOrElse(conditions.nextValue(), () -> 0, String::length);
+    }
+
+    @Benchmark
+    public String isNull_thenGetRecomputedElseValue(final Conditions conditions) {
+        final String value = conditions.nextValue();
+        return If.isNull(value)
+                .thenGet(NullTernaryBenchmark::computeDefault)
+                .elseValue(value);
+    }
+
+    @Benchmark
+    public String isNull_thenGetLazyElseValue(final Conditions conditions) {
+        final String value = conditions.nextValue();
+        return If.isNull(value)
+                .thenGet(LAZY_DEFAULT)
+                .elseValue(value);
+    }
+
+    // stands in for a default derived from configuration
+    private static String computeDefault() {
+        return String.join("-", "region", "zone", String.valueOf(MISSING.hashCode()));
+    }
+}
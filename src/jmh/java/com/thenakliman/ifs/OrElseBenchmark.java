@@ -0,0 +1,71 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrElseBenchmark {
+    private static final Integer HIGHWAY = 160;
+    private static final Integer CITY = 40;
+
+    @Benchmark
+    public Integer baseline_ternary(final Conditions conditions) {
+        return conditions.next() ? HIGHWAY : CITY;
+    }
+
+    @Benchmark
+    public Integer orElse_thenValueElseValue(final Conditions conditions) {
+        return If.orElse(conditions.next(), HIGHWAY, CITY);
+    }
+
+    @Benchmark
+    public int orElse_intThenValueElseValue(final Conditions conditions) {
+        return If.orElse(conditions.next(), 160, 40);
+    }
+
+    @Benchmark
+    public int orElse_intLikelyTrue(final Conditions conditions) {
+        return If.orElse(conditions.next(), 160, 40, BranchHint.LIKELY_TRUE);
+    }
+
+    @Benchmark
+    public int orElse_intUnpredictable(final Conditions conditions) {
+        return If.orElse(conditions.next(), 160, 40, BranchHint.UNPREDICTABLE);
+    }
+
+    @Benchmark
+    public double orElse_doubleLikelyTrue(final Conditions conditions) {
+        return If.orElse(conditions.next(), 1.6, 0.4, BranchHint.LIKELY_TRUE);
+    }
+
+    @Benchmark
+    public double orElse_doubleUnpredictable(final Conditions conditions) {
+        return If.orElse(conditions.next(), 1.6, 0.4, BranchHint.UNPREDICTABLE);
+    }
+
+    @Benchmark
+    public Integer orElse_thenGetElseGet(final Conditions conditions) {
+        return If.orElse(conditions.next(), () -> HIGHWAY, () -> CITY);
+    }
+
+    @Benchmark
+    public Integer orElse_booleanSupplierThenGetElseGet(final Conditions conditions) {
+        return If.orElse(conditions::next, () -> HIGHWAY, () -> CITY);
+    }
+
+    @Benchmark
+    public Integer nullOrElse_thenGetElseGet(final Conditions conditions) {
+        return If.nullOrElse(conditions.nextValue(), () -> HIGHWAY, () -> CITY);
+    }
+}
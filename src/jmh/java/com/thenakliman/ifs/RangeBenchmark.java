@@ -0,0 +1,63 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeBenchmark {
+    // 32 buckets over 1024 numbers, small enough for the lookup table
+    private static final int BUCKETS = 32;
+    private static final int WIDTH = 32;
+    private static final int MASK = BUCKETS * WIDTH - 1;
+    private static final CompiledExpression<Integer, Integer> LADDER;
+    private static final CompiledRange.LongRange<Integer> SEARCH;
+    private static final CompiledRange.LongRange<Integer> TABLE;
+
+    static {
+        CompiledExpression.IElse<Integer, Integer> ladder = If.<Integer>compile(number -> number < WIDTH).thenValue(0);
+        CompiledRange.ILongWhen<Integer> search = If.<Integer>range().whenValue(Long.MIN_VALUE, WIDTH, 0);
+        CompiledRange.ILongWhen<Integer> table = If.<Integer>range().whenValue(0, WIDTH, 0);
+        for (int bucket = 1; bucket < BUCKETS; bucket++) {
+            final int upper = (bucket + 1) * WIDTH;
+            ladder = ladder.elseIf(number -> number < upper).thenValue(bucket);
+            search = search.whenValue(bucket * WIDTH, upper, bucket);
+            table = table.whenValue(bucket * WIDTH, upper, bucket);
+        }
+
+        LADDER = ladder.elseValue(BUCKETS).build();
+        // an unbounded first range keeps the domain too large for a table
+        SEARCH = search.elseValue(BUCKETS).build();
+        TABLE = table.elseValue(BUCKETS).build();
+    }
+
+    @Benchmark
+    public int baseline_division(final Conditions conditions) {
+        return (conditions.nextNumber() & MASK) / WIDTH;
+    }
+
+    @Benchmark
+    public Integer compile_elseIfLadder(final Conditions conditions) {
+        return LADDER.apply(conditions.nextNumber() & MASK);
+    }
+
+    @Benchmark
+    public Integer range_binarySearch(final Conditions conditions) {
+        return SEARCH.apply(conditions.nextNumber() & MASK);
+    }
+
+    @Benchmark
+    public Integer range_table(final Conditions conditions) {
+        return TABLE.apply(conditions.nextNumber() & MASK);
+    }
+}
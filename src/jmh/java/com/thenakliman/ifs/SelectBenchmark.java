@@ -0,0 +1,76 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// If.select runs the vector implementation only when the fork gets --add-modules jdk.incubator.vector,
+// e.g. jvmArgsAppend = ['--add-modules', 'jdk.incubator.vector'] in the jmh block of build.gradle
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectBenchmark {
+    private static final int LENGTH = 1 << 12;
+
+    private final boolean[] mask = new boolean[LENGTH];
+    private final int[] thenValues = new int[LENGTH];
+    private final int[] elseValues = new int[LENGTH];
+    private final int[] out = new int[LENGTH];
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < LENGTH; i++) {
+            mask[i] = random.nextBoolean();
+            thenValues[i] = random.nextInt();
+            elseValues[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int[] baseline_ifElseLoop() {
+        for (int i = 0; i < LENGTH; i++) {
+            if (mask[i]) {
+                out[i] = thenValues[i];
+            } else {
+                out[i] = elseValues[i];
+            }
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public int[] orElse_loop() {
+        for (int i = 0; i < LENGTH; i++) {
+            out[i] = If.orElse(mask[i], thenValues[i], elseValues[i]);
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public int[] select_scalar() {
+        ArraySelect.Scalar.INSTANCE.select(mask, thenValues, elseValues, out);
+        return out;
+    }
+
+    @Benchmark
+    public int[] select() {
+        If.select(mask, thenValues, elseValues, out);
+        return out;
+    }
+}
@@ -0,0 +1,60 @@
+package com.thenakliman.ifs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// a 2 ms condition followed by a 2 ms branch, serially and with the branches speculated
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpeculationBenchmark {
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String orElse_slowCondition(final Conditions conditions) {
+        final boolean condition = conditions.next();
+        return If.orElse(() -> remote(condition), () -> remote("then"), () -> remote("else"));
+    }
+
+    @Benchmark
+    public String orElseSpeculative_slowCondition(final Conditions conditions) {
+        final boolean condition = conditions.next();
+        return If.orElseSpeculative(() -> remote(condition), () -> remote("then"), () -> remote("else"), executor);
+    }
+
+    private static <T> T remote(final T value) {
+        try {
+            Thread.sleep(2);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,147 @@
+package com.thenakliman.ifs;
+
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+final class ArraySelect {
+    static final String VECTOR_SELECT = "com.thenakliman.ifs.VectorSelect";
+    // loaded once, a single implementation keeps the calls below monomorphic
+    static final ISelect SELECT = load();
+
+    private ArraySelect() {
+        // Not allowed to create instance
+    }
+
+    interface ISelect {
+        void select(final boolean[] mask, final int[] thenValues, final int[] elseValues, final int[] out);
+
+        void select(final boolean[] mask, final long[] thenValues, final long[] elseValues, final long[] out);
+
+        void select(final boolean[] mask, final float[] thenValues, final float[] elseValues, final float[] out);
+
+        void select(final boolean[] mask, final double[] thenValues, final double[] elseValues, final double[] out);
+    }
+
+    // loops without branches in their body, which C2 turns into conditional moves or vector blends
+    static final class Scalar implements ISelect {
+        static final Scalar INSTANCE = new Scalar();
+
+        private Scalar() {
+        }
+
+        @Override
+        public void select(final boolean[] mask, final int[] thenValues, final int[] elseValues, final int[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = mask[i] ? thenValues[i] : elseValues[i];
+            }
+        }
+
+        @Override
+        public void select(final boolean[] mask, final long[] thenValues, final long[] elseValues, final long[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = mask[i] ? thenValues[i] : elseValues[i];
+            }
+        }
+
+        @Override
+        public void select(final boolean[] mask, final float[] thenValues, final float[] elseValues, final float[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = mask[i] ? thenValues[i] : elseValues[i];
+            }
+        }
+
+        @Override
+        public void select(final boolean[] mask,
+                           final double[] thenValues,
+                           final double[] elseValues,
+                           final double[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = mask[i] ? thenValues[i] : elseValues[i];
+            }
+        }
+    }
+
+    static void select(final boolean[] mask, final int[] thenValues, final int[] elseValues, final int[] out) {
+        checkLengths(out.length, mask.length, thenValues.length, elseValues.length);
+        SELECT.select(mask, thenValues, elseValues, out);
+    }
+
+    static void select(final boolean[] mask, final long[] thenValues, final long[] elseValues, final long[] out) {
+        checkLengths(out.length, mask.length, thenValues.length, elseValues.length);
+        SELECT.select(mask, thenValues, elseValues, out);
+    }
+
+    static void select(final boolean[] mask, final float[] thenValues, final float[] elseValues, final float[] out) {
+        checkLengths(out.length, mask.length, thenValues.length, elseValues.length);
+        SELECT.select(mask, thenValues, elseValues, out);
+    }
+
+    static void select(final boolean[] mask, final double[] thenValues, final double[] elseValues, final double[] out) {
+        checkLengths(out.length, mask.length, thenValues.length, elseValues.length);
+        SELECT.select(mask, thenValues, elseValues, out);
+    }
+
+    // an arbitrary predicate is a call per element, so these stay scalar
+    static void select(final int[] values,
+                       final IntPredicate predicate,
+                       final int[] thenValues,
+                       final int[] elseValues,
+                       final int[] out) {
+        checkLengths(out.length, values.length, thenValues.length, elseValues.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = predicate.test(values[i]) ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    static void select(final long[] values,
+                       final LongPredicate predicate,
+                       final long[] thenValues,
+                       final long[] elseValues,
+                       final long[] out) {
+        checkLengths(out.length, values.length, thenValues.length, elseValues.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = predicate.test(values[i]) ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    static void select(final float[] values,
+                       final DoublePredicate predicate,
+                       final float[] thenValues,
+                       final float[] elseValues,
+                       final float[] out) {
+        checkLengths(out.length, values.length, thenValues.length, elseValues.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = predicate.test(values[i]) ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    static void select(final double[] values,
+                       final DoublePredicate predicate,
+                       final double[] thenValues,
+                       final double[] elseValues,
+                       final double[] out) {
+        checkLengths(out.length, values.length, thenValues.length, elseValues.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = predicate.test(values[i]) ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    private static void checkLengths(final int length, final int... lengths) {
+        for (final int other : lengths) {
+            if (other != length) {
+                throw new IllegalArgumentException("Arrays differ in length, " + other + " and " + length);
+            }
+        }
+    }
+
+    // jdk.incubator.vector is only resolved when the JVM runs with --add-modules jdk.incubator.vector
+    private static ISelect load() {
+        try {
+            Class.forName("jdk.incubator.vector.IntVector");
+            return (ISelect) Class.forName(VECTOR_SELECT).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError exception) {
+            return Scalar.INSTANCE;
+        }
+    }
+}
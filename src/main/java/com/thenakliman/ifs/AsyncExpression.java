@@ -0,0 +1,168 @@
+package com.thenakliman.ifs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// conditions and branches are composed with thenCompose, nothing waits for a stage to complete;
+// an elseIf condition is only started when every condition before it completed with false.
+// Plain suppliers run on the thread completing the condition, or on the executor when one is given
+final class AsyncExpression {
+    private AsyncExpression() {
+        // Not allowed to create instance
+    }
+
+    interface IThen {
+        <T> IElse<T> thenValue(final T value);
+
+        <T> IElse<T> thenGet(final Supplier<? extends T> supplier);
+
+        <T> IElse<T> thenGetAsync(final Supplier<? extends CompletionStage<T>> supplier);
+
+        <T> IElse<T> thenThrow(final Supplier<? extends Throwable> exceptionSupplier);
+    }
+
+    interface IElseIf<T> {
+        IElse<T> thenValue(final T value);
+
+        IElse<T> thenGet(final Supplier<? extends T> supplier);
+
+        IElse<T> thenGetAsync(final Supplier<? extends CompletionStage<T>> supplier);
+
+        IElse<T> thenThrow(final Supplier<? extends Throwable> exceptionSupplier);
+    }
+
+    interface IElse<T> {
+        IElseIf<T> elseIfAsync(final Supplier<? extends CompletionStage<Boolean>> condition);
+
+        CompletionStage<T> elseValue(final T value);
+
+        CompletionStage<T> elseGet(final Supplier<? extends T> supplier);
+
+        CompletionStage<T> elseGetAsync(final Supplier<? extends CompletionStage<T>> supplier);
+
+        CompletionStage<T> elseThrow(final Supplier<? extends Throwable> exceptionSupplier);
+    }
+
+    static final class Then implements IThen {
+        private final CompletionStage<Boolean> condition;
+        private final Executor executor;
+
+        Then(final CompletionStage<Boolean> condition, final Executor executor) {
+            this.condition = condition;
+            this.executor = executor;
+        }
+
+        @Override
+        public <T> IElse<T> thenValue(final T value) {
+            return new Builder<T>(this.condition, this.executor).thenValue(value);
+        }
+
+        @Override
+        public <T> IElse<T> thenGet(final Supplier<? extends T> supplier) {
+            return new Builder<T>(this.condition, this.executor).thenGet(supplier);
+        }
+
+        @Override
+        public <T> IElse<T> thenGetAsync(final Supplier<? extends CompletionStage<T>> supplier) {
+            return new Builder<T>(this.condition, this.executor).thenGetAsync(supplier);
+        }
+
+        @Override
+        public <T> IElse<T> thenThrow(final Supplier<? extends Throwable> exceptionSupplier) {
+            return new Builder<T>(this.condition, this.executor).thenThrow(exceptionSupplier);
+        }
+    }
+
+    private static final class Builder<T> implements IElseIf<T>, IElse<T> {
+        private final CompletionStage<Boolean> condition;
+        private final Executor executor;
+        private final List<Supplier<? extends CompletionStage<Boolean>>> conditions = new ArrayList<>();
+        private final List<Supplier<? extends CompletionStage<T>>> branches = new ArrayList<>();
+
+        Builder(final CompletionStage<Boolean> condition, final Executor executor) {
+            this.condition = condition;
+            this.executor = executor;
+        }
+
+        @Override
+        public IElse<T> thenValue(final T value) {
+            return thenGetAsync(() -> CompletableFuture.completedFuture(value));
+        }
+
+        @Override
+        public IElse<T> thenGet(final Supplier<? extends T> supplier) {
+            return thenGetAsync(() -> supply(supplier, this.executor));
+        }
+
+        @Override
+        public IElse<T> thenGetAsync(final Supplier<? extends CompletionStage<T>> supplier) {
+            this.branches.add(supplier);
+            return this;
+        }
+
+        @Override
+        public IElse<T> thenThrow(final Supplier<? extends Throwable> exceptionSupplier) {
+            return thenGetAsync(() -> failed(exceptionSupplier.get()));
+        }
+
+        @Override
+        public IElseIf<T> elseIfAsync(final Supplier<? extends CompletionStage<Boolean>> condition) {
+            this.conditions.add(condition);
+            return this;
+        }
+
+        @Override
+        public CompletionStage<T> elseValue(final T value) {
+            return elseGetAsync(() -> CompletableFuture.completedFuture(value));
+        }
+
+        @Override
+        public CompletionStage<T> elseGet(final Supplier<? extends T> supplier) {
+            return elseGetAsync(() -> supply(supplier, this.executor));
+        }
+
+        @Override
+        public CompletionStage<T> elseGetAsync(final Supplier<? extends CompletionStage<T>> supplier) {
+            return evaluate(this.condition, 0, supplier);
+        }
+
+        @Override
+        public CompletionStage<T> elseThrow(final Supplier<? extends Throwable> exceptionSupplier) {
+            return elseGetAsync(() -> failed(exceptionSupplier.get()));
+        }
+
+        private CompletionStage<T> evaluate(final CompletionStage<Boolean> condition,
+                                            final int branch,
+                                            final Supplier<? extends CompletionStage<T>> elseBranch) {
+            return condition.thenCompose(value -> {
+                if (value) {
+                    return this.branches.get(branch).get();
+                }
+
+                if (branch == this.conditions.size()) {
+                    return elseBranch.get();
+                }
+
+                return evaluate(this.conditions.get(branch).get(), branch + 1, elseBranch);
+            });
+        }
+    }
+
+    static <T> CompletionStage<T> supply(final Supplier<? extends T> supplier, final Executor executor) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(supplier.get());
+        }
+
+        return CompletableFuture.supplyAsync(supplier::get, executor);
+    }
+
+    static <T> CompletionStage<T> failed(final Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+}
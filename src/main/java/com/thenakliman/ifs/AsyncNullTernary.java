@@ -0,0 +1,99 @@
+package com.thenakliman.ifs;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// NullTernary for a value that is not there yet, the chosen branch runs when the value completes,
+// on the executor when one is given
+final class AsyncNullTernary {
+    private AsyncNullTernary() {
+        // Not allowed to create instance
+    }
+
+    interface IThen<T> {
+        <R> IElse<T, R> thenValue(final R value);
+
+        <R> IElse<T, R> thenGet(final Supplier<? extends R> supplier);
+
+        <R> IElse<T, R> thenGetAsync(final Supplier<? extends CompletionStage<R>> supplier);
+
+        <R> IElse<T, R> thenThrow(final Supplier<? extends Throwable> exceptionSupplier);
+    }
+
+    interface IElse<T, R> {
+        CompletionStage<R> elseValue(final R value);
+
+        CompletionStage<R> elseMap(final Function<? super T, ? extends R> function);
+
+        CompletionStage<R> elseMapAsync(final Function<? super T, ? extends CompletionStage<R>> function);
+
+        CompletionStage<R> elseThrow(final Supplier<? extends Throwable> exceptionSupplier);
+    }
+
+    static final class Then<T> implements IThen<T> {
+        private final CompletionStage<T> value;
+        private final Executor executor;
+
+        Then(final CompletionStage<T> value, final Executor executor) {
+            this.value = value;
+            this.executor = executor;
+        }
+
+        @Override
+        public <R> IElse<T, R> thenValue(final R value) {
+            return new Else<>(this.value, this.executor, () -> CompletableFuture.completedFuture(value));
+        }
+
+        @Override
+        public <R> IElse<T, R> thenGet(final Supplier<? extends R> supplier) {
+            return new Else<>(this.value, this.executor, () -> AsyncExpression.supply(supplier, this.executor));
+        }
+
+        @Override
+        public <R> IElse<T, R> thenGetAsync(final Supplier<? extends CompletionStage<R>> supplier) {
+            return new Else<>(this.value, this.executor, supplier);
+        }
+
+        @Override
+        public <R> IElse<T, R> thenThrow(final Supplier<? extends Throwable> exceptionSupplier) {
+            return new Else<>(this.value, this.executor, () -> AsyncExpression.failed(exceptionSupplier.get()));
+        }
+    }
+
+    private static final class Else<T, R> implements IElse<T, R> {
+        private final CompletionStage<T> value;
+        private final Executor executor;
+        private final Supplier<? extends CompletionStage<R>> nullBranch;
+
+        private Else(final CompletionStage<T> value,
+                     final Executor executor,
+                     final Supplier<? extends CompletionStage<R>> nullBranch) {
+            this.value = value;
+            this.executor = executor;
+            this.nullBranch = nullBranch;
+        }
+
+        @Override
+        public CompletionStage<R> elseValue(final R value) {
+            return elseMapAsync(object -> CompletableFuture.completedFuture(value));
+        }
+
+        @Override
+        public CompletionStage<R> elseMap(final Function<? super T, ? extends R> function) {
+            return elseMapAsync(object -> AsyncExpression.supply(() -> function.apply(object), this.executor));
+        }
+
+        @Override
+        public CompletionStage<R> elseMapAsync(final Function<? super T, ? extends CompletionStage<R>> function) {
+            return this.value.thenCompose(object -> object == null ? this.nullBranch.get() : function.apply(object));
+        }
+
+        @Override
+        public CompletionStage<R> elseThrow(final Supplier<? extends Throwable> exceptionSupplier) {
+            return elseMapAsync(object -> AsyncExpression.failed(exceptionSupplier.get()));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.thenakliman.ifs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+final class BranchEvents {
+    static final String THEN = "then";
+    static final String ELSE_IF = "elseIf";
+    static final String ELSE = "else";
+    static final String SUPPLIER_EVENT = "com.thenakliman.ifs.SlowSupplier";
+    static final String CALLABLE_EVENT = "com.thenakliman.ifs.SlowCallable";
+
+    private static final boolean AVAILABLE = isAvailable();
+    // looked up once, asking the type is a field read while no recording enables the events
+    private static final EventType SUPPLIER_TYPE = AVAILABLE ? EventType.getEventType(SupplierEvent.class) : null;
+    private static final EventType CALLABLE_TYPE = AVAILABLE ? EventType.getEventType(CallableEvent.class) : null;
+
+    private BranchEvents() {
+        // Not allowed to create instance
+    }
+
+    @Name(SUPPLIER_EVENT)
+    @Label("Slow Branch Supplier")
+    @Category("If")
+    @StackTrace(false)
+    @Threshold("20 ms")
+    static final class SupplierEvent extends Event {
+        @Label("Branch")
+        String branch;
+
+        @Label("Call Site")
+        String callSite;
+    }
+
+    @Name(CALLABLE_EVENT)
+    @Label("Slow Branch Callable")
+    @Category("If")
+    @StackTrace(false)
+    @Threshold("20 ms")
+    static final class CallableEvent extends Event {
+        @Label("Branch")
+        String branch;
+
+        @Label("Call Site")
+        String callSite;
+    }
+
+    static <T> T get(final Supplier<? extends T> supplier, final String branch) {
+        if (!AVAILABLE || !SUPPLIER_TYPE.isEnabled()) {
+            return supplier.get();
+        }
+
+        final SupplierEvent event = begin();
+        try {
+            return supplier.get();
+        } finally {
+            end(event, branch);
+        }
+    }
+
+    // the primitive forms keep the value unboxed, a slow primitive supplier is reported like an object one
+    static int getAsInt(final IntSupplier supplier, final String branch) {
+        if (!AVAILABLE || !SUPPLIER_TYPE.isEnabled()) {
+            return supplier.getAsInt();
+        }
+
+        final SupplierEvent event = begin();
+        try {
+            return supplier.getAsInt();
+        } finally {
+            end(event, branch);
+        }
+    }
+
+    static long getAsLong(final LongSupplier supplier, final String branch) {
+        if (!AVAILABLE || !SUPPLIER_TYPE.isEnabled()) {
+            return supplier.getAsLong();
+        }
+
+        final SupplierEvent event = begin();
+        try {
+            return supplier.getAsLong();
+        } finally {
+            end(event, branch);
+        }
+    }
+
+    static double getAsDouble(final DoubleSupplier supplier, final String branch) {
+        if (!AVAILABLE || !SUPPLIER_TYPE.isEnabled()) {
+            return supplier.getAsDouble();
+        }
+
+        final SupplierEvent event = begin();
+        try {
+            return supplier.getAsDouble();
+        } finally {
+            end(event, branch);
+        }
+    }
+
+    private static SupplierEvent begin() {
+        final SupplierEvent event = new SupplierEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void end(final SupplierEvent event, final String branch) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.branch = branch;
+            event.callSite = BranchStatistics.callSite();
+            event.commit();
+        }
+    }
+
+    static <T, R> R apply(final Function<T, R> function, final T value, final String branch) {
+        if (!AVAILABLE || !SUPPLIER_TYPE.isEnabled()) {
+            return function.apply(value);
+        }
+
+        return get(() -> function.apply(value), branch);
+    }
+
+    static void call(final IfExpression.Callable callable, final String branch) {
+        if (!AVAILABLE || !CALLABLE_TYPE.isEnabled()) {
+            callable.call();
+            return;
+        }
+
+        final CallableEvent event = new CallableEvent();
+        event.begin();
+        try {
+            callable.call();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.branch = branch;
+                event.callSite = BranchStatistics.callSite();
+                event.commit();
+            }
+        }
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.thenakliman.ifs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// virtual threads need JDK 21 while the library still runs on older releases, so the factory is looked up once.
+// newVirtualThreadExecutor refuses to run without it, newBlockingBranchExecutor falls back to a cached pool
+final class BranchExecutors {
+    private static final MethodHandle VIRTUAL_THREAD_PER_TASK = virtualThreadPerTask();
+
+    private BranchExecutors() {
+        // Not allowed to create instance
+    }
+
+    private static MethodHandle virtualThreadPerTask() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (final NoSuchMethodException | IllegalAccessException exception) {
+            return null;
+        }
+    }
+
+    static boolean isVirtualThreadAvailable() {
+        return VIRTUAL_THREAD_PER_TASK != null;
+    }
+
+    static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_PER_TASK == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads need JDK 21 or later, running on " + System.getProperty("java.version"));
+        }
+
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_PER_TASK.invokeExact();
+        } catch (final RuntimeException | Error exception) {
+            throw exception;
+        } catch (final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    static ExecutorService newBlockingBranchExecutor() {
+        if (VIRTUAL_THREAD_PER_TASK != null) {
+            return newVirtualThreadExecutor();
+        }
+
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "if-branch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.thenakliman.ifs;
+
+// LIKELY_TRUE and LIKELY_FALSE are advisory, Java has no way to pass them on and C2 already orders the
+// branch from its own profile, so they keep the plain branch. Only UNPREDICTABLE changes the compiled code
+public enum BranchHint {
+    LIKELY_TRUE,
+    LIKELY_FALSE,
+    UNPREDICTABLE
+}
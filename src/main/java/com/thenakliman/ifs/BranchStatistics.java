@@ -0,0 +1,136 @@
+package com.thenakliman.ifs;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+final class BranchStatistics implements BranchStatisticsMXBean {
+    static final String PROPERTY = "if.statistics.enabled";
+    static final String OBJECT_NAME = "com.thenakliman.ifs:type=BranchStatistics";
+    // read once, so with the property unset the JIT folds every recording call away
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Logger LOGGER = Logger.getLogger(BranchStatistics.class.getName());
+    private static final String UNKNOWN = "unknown";
+    // only a handful of library frames sit above a recording call, so deep stacks are never materialised
+    private static final int MAX_DEPTH = 16;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String PACKAGE = "com.thenakliman.ifs.";
+    private static final Set<String> LIBRARY_CLASSES = new HashSet<>(Arrays.asList(
+            "If", "IfExpression", "IfOnly", "IfInlined", "NullTernary", "PrimitiveExpression",
+            "BranchStatistics", "BranchEvents", "Speculation"));
+    private static final BranchStatistics INSTANCE = ENABLED
+            ? register(ManagementFactory.getPlatformMBeanServer(), new BranchStatistics())
+            : null;
+
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private static final class Counters {
+        private final LongAdder thenCount = new LongAdder();
+        private final LongAdder elseCount = new LongAdder();
+        private final LongAdder throwCount = new LongAdder();
+    }
+
+    static boolean record(final boolean then) {
+        if (ENABLED) {
+            INSTANCE.branch(then);
+        }
+
+        return then;
+    }
+
+    static <X extends Throwable> X thrown(final X exception) {
+        if (ENABLED) {
+            INSTANCE.thrown();
+        }
+
+        return exception;
+    }
+
+    static BranchStatistics register(final MBeanServer server, final BranchStatistics statistics) {
+        try {
+            server.registerMBean(statistics, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException exception) {
+            // another copy of the library, e.g. in a sibling class loader, already published its counters
+            LOGGER.info(() -> OBJECT_NAME + " is already registered, counters of this copy are not published");
+        } catch (JMException exception) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, exception);
+        }
+
+        return statistics;
+    }
+
+    void branch(final boolean then) {
+        final Counters callSite = counters(callSite());
+        if (then) {
+            callSite.thenCount.increment();
+        } else {
+            callSite.elseCount.increment();
+        }
+    }
+
+    void thrown() {
+        counters(callSite()).throwCount.increment();
+    }
+
+    @Override
+    public List<CallSiteStatistics> getCallSites() {
+        final List<CallSiteStatistics> callSites = new ArrayList<>(counters.size());
+        for (final Map.Entry<String, Counters> entry : counters.entrySet()) {
+            final Counters value = entry.getValue();
+            callSites.add(new CallSiteStatistics(
+                    entry.getKey(), value.thenCount.sum(), value.elseCount.sum(), value.throwCount.sum()));
+        }
+
+        return callSites;
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+    }
+
+    private Counters counters(final String callSite) {
+        final Counters existing = counters.get(callSite);
+        if (existing != null) {
+            return existing;
+        }
+
+        return counters.computeIfAbsent(callSite, key -> new Counters());
+    }
+
+    // first frame outside of the library, the chain nodes and lambdas of If itself are skipped
+    static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .limit(MAX_DEPTH)
+                .filter(frame -> !isLibrary(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName()
+                        + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")")
+                .orElse(UNKNOWN));
+    }
+
+    private static boolean isLibrary(final String className) {
+        if (!className.startsWith(PACKAGE)) {
+            return false;
+        }
+
+        final int nested = className.indexOf('$', PACKAGE.length());
+        final String topLevel = nested == -1
+                ? className.substring(PACKAGE.length())
+                : className.substring(PACKAGE.length(), nested);
+        return LIBRARY_CLASSES.contains(topLevel);
+    }
+}
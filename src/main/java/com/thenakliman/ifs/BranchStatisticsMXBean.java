@@ -0,0 +1,9 @@
+package com.thenakliman.ifs;
+
+import java.util.List;
+
+public interface BranchStatisticsMXBean {
+    List<CallSiteStatistics> getCallSites();
+
+    void reset();
+}
@@ -0,0 +1,25 @@
+package com.thenakliman.ifs;
+
+// selects through an all ones or all zeros mask, the only conditional left is turning the boolean into 0 or 1,
+// which C2 compiles to a setcc instead of a jump, so a mispredicted condition costs nothing
+final class Branchless {
+    private Branchless() {
+        // Not allowed to create instance
+    }
+
+    static int select(final boolean expression, final int thenValue, final int elseValue) {
+        final int mask = -(expression ? 1 : 0);
+        return elseValue ^ ((thenValue ^ elseValue) & mask);
+    }
+
+    static long select(final boolean expression, final long thenValue, final long elseValue) {
+        final long mask = -(expression ? 1L : 0L);
+        return elseValue ^ ((thenValue ^ elseValue) & mask);
+    }
+
+    static double select(final boolean expression, final double thenValue, final double elseValue) {
+        final long thenBits = Double.doubleToRawLongBits(thenValue);
+        final long elseBits = Double.doubleToRawLongBits(elseValue);
+        return Double.longBitsToDouble(select(expression, thenBits, elseBits));
+    }
+}
@@ -0,0 +1,31 @@
+package com.thenakliman.ifs;
+
+public final class CallSiteStatistics {
+    private final String callSite;
+    private final long thenCount;
+    private final long elseCount;
+    private final long throwCount;
+
+    CallSiteStatistics(final String callSite, final long thenCount, final long elseCount, final long throwCount) {
+        this.callSite = callSite;
+        this.thenCount = thenCount;
+        this.elseCount = elseCount;
+        this.throwCount = throwCount;
+    }
+
+    public String getCallSite() {
+        return callSite;
+    }
+
+    public long getThenCount() {
+        return thenCount;
+    }
+
+    public long getElseCount() {
+        return elseCount;
+    }
+
+    public long getThrowCount() {
+        return throwCount;
+    }
+}
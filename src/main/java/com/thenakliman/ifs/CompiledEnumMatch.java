@@ -0,0 +1,125 @@
+package com.thenakliman.ifs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// branches indexed by ordinal, a lookup is a single array load like the table of a switch
+final class CompiledEnumMatch<E extends Enum<E>, O> implements Function<E, O> {
+    private final Function<? super E, ? extends O>[] branches;
+
+    private CompiledEnumMatch(final Function<? super E, ? extends O>[] branches) {
+        this.branches = branches;
+    }
+
+    interface IWhen<E extends Enum<E>, O> extends IBuild<E, O> {
+        IWhen<E, O> whenValue(final E key, final O value);
+
+        IWhen<E, O> whenGet(final E key, final Supplier<? extends O> supplier);
+
+        IWhen<E, O> whenApply(final E key, final Function<? super E, ? extends O> function);
+
+        IWhen<E, O> whenThrow(final E key, final Supplier<? extends RuntimeException> exceptionSupplier);
+
+        IBuild<E, O> elseValue(final O value);
+
+        IBuild<E, O> elseGet(final Supplier<? extends O> supplier);
+
+        IBuild<E, O> elseApply(final Function<? super E, ? extends O> function);
+
+        IBuild<E, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IBuild<E extends Enum<E>, O> {
+        CompiledEnumMatch<E, O> build();
+    }
+
+    static final class Builder<E extends Enum<E>, O> implements IWhen<E, O> {
+        private final E[] constants;
+        private final Function<? super E, ? extends O>[] branches;
+        private Function<? super E, ? extends O> elseBranch;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Builder(final Class<E> type) {
+            this.constants = type.getEnumConstants();
+            this.branches = new Function[this.constants.length];
+        }
+
+        @Override
+        public IWhen<E, O> whenValue(final E key, final O value) {
+            return whenApply(key, input -> value);
+        }
+
+        @Override
+        public IWhen<E, O> whenGet(final E key, final Supplier<? extends O> supplier) {
+            return whenApply(key, input -> supplier.get());
+        }
+
+        @Override
+        public IWhen<E, O> whenApply(final E key, final Function<? super E, ? extends O> function) {
+            Objects.requireNonNull(key, "key");
+            if (this.branches[key.ordinal()] != null) {
+                throw new IllegalArgumentException("Duplicate key " + key);
+            }
+
+            this.branches[key.ordinal()] = function;
+            return this;
+        }
+
+        @Override
+        public IWhen<E, O> whenThrow(final E key, final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return whenApply(key, input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public IBuild<E, O> elseValue(final O value) {
+            return elseApply(input -> value);
+        }
+
+        @Override
+        public IBuild<E, O> elseGet(final Supplier<? extends O> supplier) {
+            return elseApply(input -> supplier.get());
+        }
+
+        @Override
+        public IBuild<E, O> elseApply(final Function<? super E, ? extends O> function) {
+            this.elseBranch = function;
+            return this;
+        }
+
+        @Override
+        public IBuild<E, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return elseApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public CompiledEnumMatch<E, O> build() {
+            final List<E> missing = new ArrayList<>();
+            final Function<? super E, ? extends O>[] table = this.branches.clone();
+            for (int ordinal = 0; ordinal < table.length; ordinal++) {
+                if (table[ordinal] == null) {
+                    missing.add(this.constants[ordinal]);
+                    table[ordinal] = this.elseBranch;
+                }
+            }
+
+            // without an else branch every constant needs its own, checked once here instead of on every lookup
+            if (this.elseBranch == null && !missing.isEmpty()) {
+                throw new IllegalStateException("No branch for " + missing);
+            }
+
+            return new CompiledEnumMatch<>(table);
+        }
+    }
+
+    @Override
+    public O apply(final E key) {
+        return this.branches[key.ordinal()].apply(key);
+    }
+}
@@ -0,0 +1,394 @@
+package com.thenakliman.ifs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+abstract class CompiledExpression<I, O> implements Function<I, O> {
+    final Predicate<? super I>[] predicates;
+    final Function<? super I, ? extends O>[] branches;
+    final Function<? super I, ? extends O> elseBranch;
+
+    private CompiledExpression(final Predicate<? super I>[] predicates,
+                               final Function<? super I, ? extends O>[] branches,
+                               final Function<? super I, ? extends O> elseBranch) {
+        this.predicates = predicates;
+        this.branches = branches;
+        this.elseBranch = elseBranch;
+    }
+
+    public void evaluateAll(final I[] input, final O[] output) {
+        ParallelEvaluation.checkLength(input.length, output.length);
+        for (int i = 0; i < input.length; i++) {
+            output[i] = apply(input[i]);
+        }
+    }
+
+    public void evaluateAll(final List<? extends I> input, final O[] output) {
+        ParallelEvaluation.checkLength(input.size(), output.length);
+        int i = 0;
+        for (final I element : input) {
+            output[i++] = apply(element);
+        }
+    }
+
+    public void evaluateAllParallel(final I[] input, final O[] output) {
+        evaluateAllParallel(input, output, ForkJoinPool.commonPool());
+    }
+
+    public void evaluateAllParallel(final I[] input, final O[] output, final ForkJoinPool pool) {
+        ParallelEvaluation.evaluateAll(this, input, output, pool);
+    }
+
+    public void evaluateAllParallel(final List<? extends I> input, final O[] output) {
+        evaluateAllParallel(input, output, ForkJoinPool.commonPool());
+    }
+
+    public void evaluateAllParallel(final List<? extends I> input, final O[] output, final ForkJoinPool pool) {
+        ParallelEvaluation.evaluateAll(this, input, output, pool);
+    }
+
+    // StreamSupport.stream(expression.evaluating(records.spliterator()), true) evaluates in parallel, in order
+    public Spliterator<O> evaluating(final Spliterator<? extends I> input) {
+        return new ParallelEvaluation.Evaluating<>(this, input);
+    }
+
+    interface IThen<I> {
+        <O> IElse<I, O> thenValue(final O value);
+
+        <O> IElse<I, O> thenGet(final Supplier<? extends O> supplier);
+
+        <O> IElse<I, O> thenApply(final Function<? super I, ? extends O> function);
+
+        <O> IElse<I, O> thenThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IElseIf<I, O> {
+        IElse<I, O> thenValue(final O value);
+
+        IElse<I, O> thenGet(final Supplier<? extends O> supplier);
+
+        IElse<I, O> thenApply(final Function<? super I, ? extends O> function);
+
+        IElse<I, O> thenThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IElse<I, O> {
+        IElseIf<I, O> elseIf(final Predicate<? super I> predicate);
+
+        IBuild<I, O> elseValue(final O value);
+
+        IBuild<I, O> elseGet(final Supplier<? extends O> supplier);
+
+        IBuild<I, O> elseApply(final Function<? super I, ? extends O> function);
+
+        IBuild<I, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IBuild<I, O> {
+        CompiledExpression<I, O> build();
+
+        CompiledExpression<I, O> buildMethodHandle();
+
+        // caller guarantees predicates are free of side effects and at most one of them is true for any input
+        CompiledExpression<I, O> buildAdaptive();
+    }
+
+    static final class Then<I> implements IThen<I> {
+        private final Predicate<? super I> predicate;
+
+        Then(final Predicate<? super I> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <O> IElse<I, O> thenValue(final O value) {
+            return new Builder<I, O>(this.predicate).thenValue(value);
+        }
+
+        @Override
+        public <O> IElse<I, O> thenGet(final Supplier<? extends O> supplier) {
+            return new Builder<I, O>(this.predicate).thenGet(supplier);
+        }
+
+        @Override
+        public <O> IElse<I, O> thenApply(final Function<? super I, ? extends O> function) {
+            return new Builder<I, O>(this.predicate).thenApply(function);
+        }
+
+        @Override
+        public <O> IElse<I, O> thenThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return new Builder<I, O>(this.predicate).thenThrow(exceptionSupplier);
+        }
+    }
+
+    static final class Builder<I, O> implements IElseIf<I, O>, IElse<I, O>, IBuild<I, O> {
+        private final List<Predicate<? super I>> predicates = new ArrayList<>();
+        private final List<Function<? super I, ? extends O>> branches = new ArrayList<>();
+        private Function<? super I, ? extends O> elseBranch;
+
+        Builder(final Predicate<? super I> predicate) {
+            this.predicates.add(predicate);
+        }
+
+        @Override
+        public IElse<I, O> thenValue(final O value) {
+            return thenApply(input -> value);
+        }
+
+        @Override
+        public IElse<I, O> thenGet(final Supplier<? extends O> supplier) {
+            return thenApply(input -> supplier.get());
+        }
+
+        @Override
+        public IElse<I, O> thenApply(final Function<? super I, ? extends O> function) {
+            this.branches.add(function);
+            return this;
+        }
+
+        @Override
+        public IElse<I, O> thenThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return thenApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public IElseIf<I, O> elseIf(final Predicate<? super I> predicate) {
+            this.predicates.add(predicate);
+            return this;
+        }
+
+        @Override
+        public IBuild<I, O> elseValue(final O value) {
+            return elseApply(input -> value);
+        }
+
+        @Override
+        public IBuild<I, O> elseGet(final Supplier<? extends O> supplier) {
+            return elseApply(input -> supplier.get());
+        }
+
+        @Override
+        public IBuild<I, O> elseApply(final Function<? super I, ? extends O> function) {
+            this.elseBranch = function;
+            return this;
+        }
+
+        @Override
+        public IBuild<I, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return elseApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public CompiledExpression<I, O> build() {
+            return new Linear<>(
+                    this.predicates.toArray(new Predicate[0]),
+                    this.branches.toArray(new Function[0]),
+                    this.elseBranch);
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public CompiledExpression<I, O> buildMethodHandle() {
+            return new Guarded<>(
+                    this.predicates.toArray(new Predicate[0]),
+                    this.branches.toArray(new Function[0]),
+                    this.elseBranch);
+        }
+
+        @Override
+        public CompiledExpression<I, O> buildAdaptive() {
+            return buildAdaptive(System::nanoTime);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompiledExpression<I, O> buildAdaptive(final LongSupplier clock) {
+            return new Adaptive<>(
+                    this.predicates.toArray(new Predicate[0]),
+                    this.branches.toArray(new Function[0]),
+                    this.elseBranch,
+                    clock);
+        }
+    }
+
+    private static final class Linear<I, O> extends CompiledExpression<I, O> {
+        private Linear(final Predicate<? super I>[] predicates,
+                       final Function<? super I, ? extends O>[] branches,
+                       final Function<? super I, ? extends O> elseBranch) {
+            super(predicates, branches, elseBranch);
+        }
+
+        @Override
+        public O apply(final I input) {
+            for (int i = 0; i < predicates.length; i++) {
+                if (predicates[i].test(input)) {
+                    return branches[i].apply(input);
+                }
+            }
+
+            return elseBranch.apply(input);
+        }
+    }
+
+    // guardWithTest tree the JIT inlines like hand written code, see GuardedInvoker for how it is kept constant
+    private static final class Guarded<I, O> extends CompiledExpression<I, O> {
+        private static final MethodHandle TEST;
+        private static final MethodHandle APPLY;
+
+        static {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            try {
+                TEST = lookup.findVirtual(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class));
+                APPLY = lookup.findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+            } catch (final NoSuchMethodException | IllegalAccessException exception) {
+                throw new ExceptionInInitializerError(exception);
+            }
+        }
+
+        private final Function<Object, Object> invoker;
+
+        private Guarded(final Predicate<? super I>[] predicates,
+                        final Function<? super I, ? extends O>[] branches,
+                        final Function<? super I, ? extends O> elseBranch) {
+            super(predicates, branches, elseBranch);
+            MethodHandle target = APPLY.bindTo(elseBranch);
+            for (int i = predicates.length - 1; i >= 0; i--) {
+                target = MethodHandles.guardWithTest(TEST.bindTo(predicates[i]), APPLY.bindTo(branches[i]), target);
+            }
+
+            this.invoker = GuardedInvoker.invoker(target);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public O apply(final I input) {
+            return (O) this.invoker.apply(input);
+        }
+    }
+
+    // mutually exclusive predicates give the same answer in any order, so they are tested
+    // by descending hits per nanosecond measured on a sample of the evaluations
+    static final class Adaptive<I, O> extends CompiledExpression<I, O> {
+        static final int SAMPLE_RATE = 64;
+        static final int REORDER_SAMPLES = 1024;
+
+        private final LongAdder[] hits;
+        private final LongAdder[] nanos;
+        private final LongAdder[] tests;
+        private final AtomicInteger samples = new AtomicInteger();
+        private final LongSupplier clock;
+        private final double[] hitRates;
+        private final double[] costs;
+        private volatile int[] order;
+
+        private Adaptive(final Predicate<? super I>[] predicates,
+                         final Function<? super I, ? extends O>[] branches,
+                         final Function<? super I, ? extends O> elseBranch,
+                         final LongSupplier clock) {
+            super(predicates, branches, elseBranch);
+            this.clock = clock;
+            this.hits = adders(predicates.length);
+            this.nanos = adders(predicates.length);
+            this.tests = adders(predicates.length);
+            this.hitRates = new double[predicates.length];
+            this.costs = new double[predicates.length];
+            this.order = new int[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                this.order[i] = i;
+            }
+        }
+
+        private static LongAdder[] adders(final int size) {
+            final LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+
+            return adders;
+        }
+
+        int[] order() {
+            return this.order.clone();
+        }
+
+        @Override
+        public O apply(final I input) {
+            final int[] order = this.order;
+            if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+                return measure(order, input);
+            }
+
+            for (final int branch : order) {
+                if (predicates[branch].test(input)) {
+                    return branches[branch].apply(input);
+                }
+            }
+
+            return elseBranch.apply(input);
+        }
+
+        private O measure(final int[] order, final I input) {
+            int matched = -1;
+            for (final int branch : order) {
+                final long start = this.clock.getAsLong();
+                final boolean test = predicates[branch].test(input);
+                this.nanos[branch].add(this.clock.getAsLong() - start);
+                this.tests[branch].increment();
+                if (test) {
+                    this.hits[branch].increment();
+                    matched = branch;
+                    break;
+                }
+            }
+
+            if (this.samples.incrementAndGet() % REORDER_SAMPLES == 0) {
+                reorder();
+            }
+
+            return matched == -1 ? elseBranch.apply(input) : branches[matched].apply(input);
+        }
+
+        private synchronized void reorder() {
+            final double[] scores = new double[predicates.length];
+            final Integer[] branches = new Integer[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                final long tested = this.tests[i].sumThenReset();
+                final long nanos = this.nanos[i].sumThenReset();
+                // halve the history on every round so a change in traffic wins within a few rounds
+                this.hitRates[i] = (this.hitRates[i] + this.hits[i].sumThenReset()) / 2;
+                if (tested > 0) {
+                    this.costs[i] = (this.costs[i] + (double) nanos / tested) / 2;
+                }
+
+                scores[i] = this.hitRates[i] / Math.max(this.costs[i], 1);
+                branches[i] = i;
+            }
+
+            Arrays.sort(branches, Comparator.comparingDouble(branch -> -scores[branch]));
+            final int[] order = new int[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                order[i] = branches[i];
+            }
+
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.thenakliman.ifs;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+abstract class CompiledMatch<K, O> implements Function<K, O> {
+    // table grows at most this many doublings beyond the key count while looking for a collision free size
+    private static final int MAX_GROWTH = 3;
+
+    final Function<? super K, ? extends O> elseBranch;
+
+    private CompiledMatch(final Function<? super K, ? extends O> elseBranch) {
+        this.elseBranch = elseBranch;
+    }
+
+    interface IWhen<K, O> {
+        IWhen<K, O> whenValue(final K key, final O value);
+
+        IWhen<K, O> whenGet(final K key, final Supplier<? extends O> supplier);
+
+        IWhen<K, O> whenApply(final K key, final Function<? super K, ? extends O> function);
+
+        IWhen<K, O> whenThrow(final K key, final Supplier<? extends RuntimeException> exceptionSupplier);
+
+        IBuild<K, O> elseValue(final O value);
+
+        IBuild<K, O> elseGet(final Supplier<? extends O> supplier);
+
+        IBuild<K, O> elseApply(final Function<? super K, ? extends O> function);
+
+        IBuild<K, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IBuild<K, O> {
+        CompiledMatch<K, O> build();
+    }
+
+    static final class Builder<K, O> implements IWhen<K, O>, IBuild<K, O> {
+        private final Map<K, Function<? super K, ? extends O>> branches = new LinkedHashMap<>();
+        private Function<? super K, ? extends O> elseBranch;
+
+        @Override
+        public IWhen<K, O> whenValue(final K key, final O value) {
+            return whenApply(key, input -> value);
+        }
+
+        @Override
+        public IWhen<K, O> whenGet(final K key, final Supplier<? extends O> supplier) {
+            return whenApply(key, input -> supplier.get());
+        }
+
+        @Override
+        public IWhen<K, O> whenApply(final K key, final Function<? super K, ? extends O> function) {
+            Objects.requireNonNull(key, "key");
+            if (this.branches.putIfAbsent(key, function) != null) {
+                throw new IllegalArgumentException("Duplicate key " + key);
+            }
+
+            return this;
+        }
+
+        @Override
+        public IWhen<K, O> whenThrow(final K key, final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return whenApply(key, input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public IBuild<K, O> elseValue(final O value) {
+            return elseApply(input -> value);
+        }
+
+        @Override
+        public IBuild<K, O> elseGet(final Supplier<? extends O> supplier) {
+            return elseApply(input -> supplier.get());
+        }
+
+        @Override
+        public IBuild<K, O> elseApply(final Function<? super K, ? extends O> function) {
+            this.elseBranch = function;
+            return this;
+        }
+
+        @Override
+        public IBuild<K, O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return elseApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public CompiledMatch<K, O> build() {
+            final CompiledMatch<K, O> perfectHash = PerfectHash.of(this.branches, this.elseBranch);
+            if (perfectHash != null) {
+                return perfectHash;
+            }
+
+            return new Hashed<>(new HashMap<>(this.branches), this.elseBranch);
+        }
+    }
+
+    // key set is fixed, so a table size where no two keys share a slot can be searched for once;
+    // a lookup is then one hashCode, one index and one equals
+    static final class PerfectHash<K, O> extends CompiledMatch<K, O> {
+        private final Object[] keys;
+        private final Function<? super K, ? extends O>[] branches;
+        private final int mask;
+
+        private PerfectHash(final Object[] keys,
+                            final Function<? super K, ? extends O>[] branches,
+                            final Function<? super K, ? extends O> elseBranch) {
+            super(elseBranch);
+            this.keys = keys;
+            this.branches = branches;
+            this.mask = keys.length - 1;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <K, O> PerfectHash<K, O> of(final Map<K, Function<? super K, ? extends O>> branches,
+                                                   final Function<? super K, ? extends O> elseBranch) {
+            final int smallest = tableSize(branches.size());
+            for (int size = smallest; size > 0 && size <= smallest << MAX_GROWTH; size <<= 1) {
+                final Object[] keys = new Object[size];
+                final Function<? super K, ? extends O>[] table = new Function[size];
+                if (fill(branches, keys, table)) {
+                    return new PerfectHash<>(keys, table, elseBranch);
+                }
+            }
+
+            return null;
+        }
+
+        private static <K, O> boolean fill(final Map<K, Function<? super K, ? extends O>> branches,
+                                           final Object[] keys,
+                                           final Function<? super K, ? extends O>[] table) {
+            final int mask = keys.length - 1;
+            for (final Map.Entry<K, Function<? super K, ? extends O>> branch : branches.entrySet()) {
+                final int index = spread(branch.getKey().hashCode()) & mask;
+                if (keys[index] != null) {
+                    return false;
+                }
+
+                keys[index] = branch.getKey();
+                table[index] = branch.getValue();
+            }
+
+            return true;
+        }
+
+        private static int tableSize(final int keys) {
+            return keys <= 1 ? 1 : Integer.highestOneBit(keys - 1) << 1;
+        }
+
+        int size() {
+            return this.keys.length;
+        }
+
+        @Override
+        public O apply(final K key) {
+            if (key != null) {
+                final int index = spread(key.hashCode()) & this.mask;
+                if (key.equals(this.keys[index])) {
+                    return this.branches[index].apply(key);
+                }
+            }
+
+            return elseBranch.apply(key);
+        }
+    }
+
+    static final class Hashed<K, O> extends CompiledMatch<K, O> {
+        private final Map<K, Function<? super K, ? extends O>> branches;
+
+        private Hashed(final Map<K, Function<? super K, ? extends O>> branches,
+                       final Function<? super K, ? extends O> elseBranch) {
+            super(elseBranch);
+            this.branches = branches;
+        }
+
+        @Override
+        public O apply(final K key) {
+            final Function<? super K, ? extends O> branch = this.branches.get(key);
+            if (branch != null) {
+                return branch.apply(key);
+            }
+
+            return elseBranch.apply(key);
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
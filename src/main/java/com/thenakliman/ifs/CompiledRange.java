@@ -0,0 +1,353 @@
+package com.thenakliman.ifs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+final class CompiledRange {
+    // domains with at most this many values get a lookup table, larger ones a binary search
+    static final int DENSE_LIMIT = 1 << 10;
+
+    private CompiledRange() {
+        // Not allowed to create instance
+    }
+
+    interface ILongWhen<O> extends ILongBuild<O> {
+        ILongWhen<O> whenValue(final long from, final long to, final O value);
+
+        ILongWhen<O> whenGet(final long from, final long to, final Supplier<? extends O> supplier);
+
+        ILongWhen<O> whenApply(final long from, final long to, final LongFunction<? extends O> function);
+
+        ILongWhen<O> whenThrow(final long from, final long to, final Supplier<? extends RuntimeException> exceptionSupplier);
+
+        ILongBuild<O> elseValue(final O value);
+
+        ILongBuild<O> elseGet(final Supplier<? extends O> supplier);
+
+        ILongBuild<O> elseApply(final LongFunction<? extends O> function);
+
+        ILongBuild<O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface ILongBuild<O> {
+        LongRange<O> build();
+    }
+
+    interface IDoubleWhen<O> extends IDoubleBuild<O> {
+        IDoubleWhen<O> whenValue(final double from, final double to, final O value);
+
+        IDoubleWhen<O> whenGet(final double from, final double to, final Supplier<? extends O> supplier);
+
+        IDoubleWhen<O> whenApply(final double from, final double to, final DoubleFunction<? extends O> function);
+
+        IDoubleWhen<O> whenThrow(final double from,
+                                 final double to,
+                                 final Supplier<? extends RuntimeException> exceptionSupplier);
+
+        IDoubleBuild<O> elseValue(final O value);
+
+        IDoubleBuild<O> elseGet(final Supplier<? extends O> supplier);
+
+        IDoubleBuild<O> elseApply(final DoubleFunction<? extends O> function);
+
+        IDoubleBuild<O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier);
+    }
+
+    interface IDoubleBuild<O> {
+        DoubleRange<O> build();
+    }
+
+    // ranges are [from, to) and have to be given in ascending order, each starting where the previous one ended
+    static final class LongBuilder<O> implements ILongWhen<O> {
+        private final List<Long> starts = new ArrayList<>();
+        private final List<LongFunction<? extends O>> branches = new ArrayList<>();
+        private long end;
+        private LongFunction<? extends O> elseBranch;
+
+        @Override
+        public ILongWhen<O> whenValue(final long from, final long to, final O value) {
+            return whenApply(from, to, input -> value);
+        }
+
+        @Override
+        public ILongWhen<O> whenGet(final long from, final long to, final Supplier<? extends O> supplier) {
+            return whenApply(from, to, input -> supplier.get());
+        }
+
+        @Override
+        public ILongWhen<O> whenApply(final long from, final long to, final LongFunction<? extends O> function) {
+            if (from >= to) {
+                throw new IllegalArgumentException("Empty range [" + from + ", " + to + ")");
+            }
+
+            if (!this.starts.isEmpty() && from < this.end) {
+                throw new IllegalArgumentException("Range [" + from + ", " + to + ") overlaps range ending at " + this.end);
+            }
+
+            if (!this.starts.isEmpty() && from > this.end) {
+                throw new IllegalArgumentException("Gap between " + this.end + " and " + from);
+            }
+
+            this.starts.add(from);
+            this.branches.add(function);
+            this.end = to;
+            return this;
+        }
+
+        @Override
+        public ILongWhen<O> whenThrow(final long from,
+                                      final long to,
+                                      final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return whenApply(from, to, input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public ILongBuild<O> elseValue(final O value) {
+            return elseApply(input -> value);
+        }
+
+        @Override
+        public ILongBuild<O> elseGet(final Supplier<? extends O> supplier) {
+            return elseApply(input -> supplier.get());
+        }
+
+        @Override
+        public ILongBuild<O> elseApply(final LongFunction<? extends O> function) {
+            this.elseBranch = function;
+            return this;
+        }
+
+        @Override
+        public ILongBuild<O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return elseApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public LongRange<O> build() {
+            if (this.starts.isEmpty()) {
+                throw new IllegalStateException("No range given");
+            }
+
+            final long[] starts = new long[this.starts.size()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = this.starts.get(i);
+            }
+
+            final long start = starts[0];
+            final long end = this.end;
+            final LongFunction<? extends O> elseBranch = this.elseBranch != null
+                    ? this.elseBranch
+                    : input -> {
+                        throw new IllegalArgumentException(input + " is outside [" + start + ", " + end + ")");
+                    };
+            return new LongRange<>(starts, end, this.branches.toArray(new LongFunction[0]), elseBranch);
+        }
+    }
+
+    static final class LongRange<O> implements LongFunction<O> {
+        private final long[] starts;
+        private final long end;
+        private final LongFunction<? extends O>[] branches;
+        private final LongFunction<? extends O> elseBranch;
+        // branch index per value of a small domain, null when the domain is too large
+        private final int[] table;
+
+        private LongRange(final long[] starts,
+                          final long end,
+                          final LongFunction<? extends O>[] branches,
+                          final LongFunction<? extends O> elseBranch) {
+            this.starts = starts;
+            this.end = end;
+            this.branches = branches;
+            this.elseBranch = elseBranch;
+            this.table = table(starts, end);
+        }
+
+        private static int[] table(final long[] starts, final long end) {
+            // subtraction overflows to a negative size for domains spanning most of long
+            final long size = end - starts[0];
+            if (size <= 0 || size > DENSE_LIMIT) {
+                return null;
+            }
+
+            final int[] table = new int[(int) size];
+            for (int branch = 0; branch < starts.length; branch++) {
+                final long to = branch + 1 < starts.length ? starts[branch + 1] : end;
+                for (long value = starts[branch]; value < to; value++) {
+                    table[(int) (value - starts[0])] = branch;
+                }
+            }
+
+            return table;
+        }
+
+        boolean isDense() {
+            return this.table != null;
+        }
+
+        @Override
+        public O apply(final long value) {
+            if (value < this.starts[0] || value >= this.end) {
+                return this.elseBranch.apply(value);
+            }
+
+            if (this.table != null) {
+                return this.branches[this.table[(int) (value - this.starts[0])]].apply(value);
+            }
+
+            int low = 0;
+            int high = this.starts.length - 1;
+            while (low < high) {
+                final int middle = (low + high + 1) >>> 1;
+                if (this.starts[middle] <= value) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            return this.branches[low].apply(value);
+        }
+    }
+
+    static final class DoubleBuilder<O> implements IDoubleWhen<O> {
+        private final List<Double> starts = new ArrayList<>();
+        private final List<DoubleFunction<? extends O>> branches = new ArrayList<>();
+        private double end;
+        private DoubleFunction<? extends O> elseBranch;
+
+        @Override
+        public IDoubleWhen<O> whenValue(final double from, final double to, final O value) {
+            return whenApply(from, to, input -> value);
+        }
+
+        @Override
+        public IDoubleWhen<O> whenGet(final double from, final double to, final Supplier<? extends O> supplier) {
+            return whenApply(from, to, input -> supplier.get());
+        }
+
+        @Override
+        public IDoubleWhen<O> whenApply(final double from,
+                                        final double to,
+                                        final DoubleFunction<? extends O> function) {
+            // written negated so NaN bounds are rejected as well
+            if (!(from < to)) {
+                throw new IllegalArgumentException("Empty range [" + from + ", " + to + ")");
+            }
+
+            if (!this.starts.isEmpty() && from < this.end) {
+                throw new IllegalArgumentException("Range [" + from + ", " + to + ") overlaps range ending at " + this.end);
+            }
+
+            if (!this.starts.isEmpty() && from > this.end) {
+                throw new IllegalArgumentException("Gap between " + this.end + " and " + from);
+            }
+
+            this.starts.add(from);
+            this.branches.add(function);
+            this.end = to;
+            return this;
+        }
+
+        @Override
+        public IDoubleWhen<O> whenThrow(final double from,
+                                        final double to,
+                                        final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return whenApply(from, to, input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        public IDoubleBuild<O> elseValue(final O value) {
+            return elseApply(input -> value);
+        }
+
+        @Override
+        public IDoubleBuild<O> elseGet(final Supplier<? extends O> supplier) {
+            return elseApply(input -> supplier.get());
+        }
+
+        @Override
+        public IDoubleBuild<O> elseApply(final DoubleFunction<? extends O> function) {
+            this.elseBranch = function;
+            return this;
+        }
+
+        @Override
+        public IDoubleBuild<O> elseThrow(final Supplier<? extends RuntimeException> exceptionSupplier) {
+            return elseApply(input -> {
+                throw exceptionSupplier.get();
+            });
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public DoubleRange<O> build() {
+            if (this.starts.isEmpty()) {
+                throw new IllegalStateException("No range given");
+            }
+
+            final double[] starts = new double[this.starts.size()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = this.starts.get(i);
+            }
+
+            final double start = starts[0];
+            final double end = this.end;
+            final DoubleFunction<? extends O> elseBranch = this.elseBranch != null
+                    ? this.elseBranch
+                    : input -> {
+                        throw new IllegalArgumentException(input + " is outside [" + start + ", " + end + ")");
+                    };
+            return new DoubleRange<>(starts, end, this.branches.toArray(new DoubleFunction[0]), elseBranch);
+        }
+    }
+
+    static final class DoubleRange<O> implements DoubleFunction<O> {
+        private final double[] starts;
+        private final double end;
+        private final DoubleFunction<? extends O>[] branches;
+        private final DoubleFunction<? extends O> elseBranch;
+
+        private DoubleRange(final double[] starts,
+                            final double end,
+                            final DoubleFunction<? extends O>[] branches,
+                            final DoubleFunction<? extends O> elseBranch) {
+            this.starts = starts;
+            this.end = end;
+            this.branches = branches;
+            this.elseBranch = elseBranch;
+        }
+
+        @Override
+        public O apply(final double value) {
+            // NaN fails both comparisons and goes to the else branch
+            if (!(value >= this.starts[0] && value < this.end)) {
+                return this.elseBranch.apply(value);
+            }
+
+            // plain comparisons instead of Arrays.binarySearch, which orders -0.0 before 0.0
+            int low = 0;
+            int high = this.starts.length - 1;
+            while (low < high) {
+                final int middle = (low + high + 1) >>> 1;
+                if (this.starts[middle] <= value) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            return this.branches[low].apply(value);
+        }
+    }
+}
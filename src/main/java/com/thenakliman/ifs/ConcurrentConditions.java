@@ -0,0 +1,90 @@
+package com.thenakliman.ifs;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+// anyTrue is decided by the first true, allTrue by the first false; every condition runs on the
+// executor and the caller waits only until the outcome is known, the rest are cancelled with an interrupt.
+// A condition that throws fails the whole evaluation unless the outcome was already decided
+final class ConcurrentConditions {
+    private ConcurrentConditions() {
+        // Not allowed to create instance
+    }
+
+    static boolean anyTrue(final BooleanSupplier[] conditions) {
+        for (final BooleanSupplier condition : conditions) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static boolean allTrue(final BooleanSupplier[] conditions) {
+        for (final BooleanSupplier condition : conditions) {
+            if (!condition.getAsBoolean()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static boolean anyTrue(final Executor executor, final BooleanSupplier[] conditions) {
+        return decides(executor, conditions, true);
+    }
+
+    static boolean allTrue(final Executor executor, final BooleanSupplier[] conditions) {
+        return !decides(executor, conditions, false);
+    }
+
+    // whether any condition evaluated to decisive
+    private static boolean decides(final Executor executor, final BooleanSupplier[] conditions, final boolean decisive) {
+        if (conditions.length == 0) {
+            return false;
+        }
+
+        final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+        final AtomicInteger undecided = new AtomicInteger(conditions.length);
+        final FutureTask<?>[] tasks = new FutureTask<?>[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            final BooleanSupplier condition = conditions[i];
+            tasks[i] = new FutureTask<>(() -> {
+                try {
+                    if (condition.getAsBoolean() == decisive) {
+                        outcome.complete(true);
+                    } else if (undecided.decrementAndGet() == 0) {
+                        outcome.complete(false);
+                    }
+                } catch (final Throwable throwable) {
+                    outcome.completeExceptionally(throwable);
+                }
+            }, null);
+        }
+
+        try {
+            for (final FutureTask<?> task : tasks) {
+                if (outcome.isDone()) {
+                    break;
+                }
+
+                executor.execute(task);
+            }
+
+            return outcome.get();
+        } catch (final ExecutionException exception) {
+            throw Speculation.unchecked(exception.getCause());
+        } catch (final InterruptedException exception) {
+            throw Speculation.interrupted(exception);
+        } finally {
+            for (final FutureTask<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.thenakliman.ifs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+// every branch buffers at most bufferSize items and has its own demand, upstream is only asked for as
+// many items as the fullest buffer can still take, so a slow branch holds the others back only once its
+// buffer is full. Items are handed over through single producer single consumer rings, demand and
+// buffer space through atomics, and upstream is requested in batches of a quarter of the buffer
+final class FlowRouter<T> implements Flow.Subscriber<T> {
+    private final Predicate<? super T>[] predicates;
+    private final Branch<T>[] branches;
+    // items matching no predicate go to the else branch, null when they are dropped
+    private final Branch<T> elseBranch;
+    private final int bufferSize;
+    private final int batch;
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicInteger replenishing = new AtomicInteger();
+    private final AtomicInteger active;
+    private volatile Flow.Subscription upstream;
+    private boolean done;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FlowRouter(final List<Predicate<? super T>> predicates,
+                       final List<Flow.Subscriber<? super T>> subscribers,
+                       final boolean hasElse,
+                       final int bufferSize) {
+        this.predicates = predicates.toArray(new Predicate[0]);
+        this.branches = new Branch[subscribers.size()];
+        for (int i = 0; i < this.branches.length; i++) {
+            this.branches[i] = new Branch<>(this, subscribers.get(i), bufferSize);
+        }
+
+        this.elseBranch = hasElse ? this.branches[this.branches.length - 1] : null;
+        this.bufferSize = bufferSize;
+        this.batch = Math.max(1, bufferSize / 4);
+        this.active = new AtomicInteger(this.branches.length);
+    }
+
+    private void connect(final Flow.Publisher<T> publisher) {
+        for (final Branch<T> branch : this.branches) {
+            branch.subscriber.onSubscribe(branch);
+        }
+
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (this.upstream != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.upstream = subscription;
+        if (this.active.get() == 0) {
+            subscription.cancel();
+            return;
+        }
+
+        replenish();
+    }
+
+    @Override
+    public void onNext(final T item) {
+        if (this.done) {
+            return;
+        }
+
+        final Branch<T> branch;
+        try {
+            branch = route(item);
+        } catch (final Throwable throwable) {
+            this.upstream.cancel();
+            onError(throwable);
+            return;
+        }
+
+        if (branch != null && !branch.cancelled) {
+            branch.offer(item);
+        }
+
+        // a drain inside offer replenished while this item still counted as outstanding, with a batch of one
+        // that request could have been the last one, so credit is recomputed once the item is accounted for
+        this.outstanding.decrementAndGet();
+        replenish();
+    }
+
+    private Branch<T> route(final T item) {
+        for (int i = 0; i < this.predicates.length; i++) {
+            if (this.predicates[i].test(item)) {
+                return this.branches[i];
+            }
+        }
+
+        return this.elseBranch;
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (this.done) {
+            return;
+        }
+
+        this.done = true;
+        for (final Branch<T> branch : this.branches) {
+            branch.terminate(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.done) {
+            return;
+        }
+
+        this.done = true;
+        for (final Branch<T> branch : this.branches) {
+            branch.terminate(null);
+        }
+    }
+
+    // called from the upstream thread and from every draining branch, the loop makes sure only one
+    // of them computes and sends a request at a time while none of the calls is lost
+    private void replenish() {
+        if (this.replenishing.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            final Flow.Subscription subscription = this.upstream;
+            if (subscription != null && this.active.get() > 0) {
+                final long outstanding = this.outstanding.get();
+                final long credit = freeSpace() - outstanding;
+                if (credit >= this.batch || (credit > 0 && outstanding == 0)) {
+                    this.outstanding.addAndGet(credit);
+                    subscription.request(credit);
+                }
+            }
+
+            missed = this.replenishing.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private long freeSpace() {
+        long free = this.bufferSize;
+        for (final Branch<T> branch : this.branches) {
+            if (!branch.cancelled) {
+                free = Math.min(free, this.bufferSize - branch.queued.get());
+            }
+        }
+
+        return free;
+    }
+
+    private void branchCancelled() {
+        if (this.active.decrementAndGet() == 0) {
+            final Flow.Subscription subscription = this.upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        } else {
+            // the cancelled buffer no longer limits the others
+            replenish();
+        }
+    }
+
+    private static final class Branch<T> implements Flow.Subscription {
+        private final FlowRouter<T> router;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicReferenceArray<T> ring;
+        private final int mask;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private final AtomicBoolean cancelRequested = new AtomicBoolean();
+        // written by the upstream thread only
+        private int producerIndex;
+        // read and written inside the drain loop only
+        private int consumerIndex;
+        private volatile boolean cancelled;
+        private volatile boolean terminated;
+        private volatile Throwable invalidRequest;
+        private Throwable error;
+
+        private Branch(final FlowRouter<T> router, final Flow.Subscriber<? super T> subscriber, final int bufferSize) {
+            this.router = router;
+            this.subscriber = subscriber;
+            final int capacity = Integer.highestOneBit(Math.max(1, bufferSize - 1)) << 1;
+            this.ring = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private void offer(final T item) {
+            final int index = this.producerIndex & this.mask;
+            this.ring.lazySet(index, item);
+            this.producerIndex++;
+            // a full fence, the item is visible before cancelled is read below
+            this.queued.incrementAndGet();
+            if (this.cancelled) {
+                // a cancel between the router's check and the write may have cleared the ring already,
+                // whichever of the producer and clear takes the item out also uncounts it
+                if (this.ring.compareAndSet(index, item, null)) {
+                    this.queued.decrementAndGet();
+                }
+
+                return;
+            }
+
+            drain();
+        }
+
+        private void terminate(final Throwable throwable) {
+            this.error = throwable;
+            this.terminated = true;
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                // signalled from the drain loop, so it cannot overlap an onNext
+                this.invalidRequest = new IllegalArgumentException("Non-positive request " + n);
+                cancel();
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = this.demand.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!this.demand.compareAndSet(current, next));
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (this.cancelRequested.compareAndSet(false, true)) {
+                this.cancelled = true;
+                this.router.branchCancelled();
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (this.draining.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                final long requested = this.demand.get();
+                long emitted = 0;
+                while (!this.cancelled) {
+                    // read before polling, an empty ring after a terminal signal is really empty
+                    final boolean terminated = this.terminated;
+                    final T item = this.ring.get(this.consumerIndex & this.mask);
+                    if (item == null) {
+                        if (terminated) {
+                            this.cancelled = true;
+                            signalTerminal();
+                        }
+
+                        break;
+                    }
+
+                    if (emitted == requested) {
+                        break;
+                    }
+
+                    this.ring.lazySet(this.consumerIndex & this.mask, null);
+                    this.consumerIndex++;
+                    this.subscriber.onNext(item);
+                    emitted++;
+                }
+
+                if (this.cancelled) {
+                    clear();
+                    final Throwable invalidRequest = this.invalidRequest;
+                    if (invalidRequest != null) {
+                        this.invalidRequest = null;
+                        this.subscriber.onError(invalidRequest);
+                    }
+                }
+
+                if (emitted != 0) {
+                    if (requested != Long.MAX_VALUE) {
+                        this.demand.addAndGet(-emitted);
+                    }
+
+                    this.queued.addAndGet((int) -emitted);
+                    this.router.replenish();
+                }
+
+                missed = this.draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void signalTerminal() {
+            if (this.error == null) {
+                this.subscriber.onComplete();
+            } else {
+                this.subscriber.onError(this.error);
+            }
+        }
+
+        private void clear() {
+            int removed = 0;
+            for (int i = 0; i < this.ring.length(); i++) {
+                if (this.ring.getAndSet(i, null) != null) {
+                    removed++;
+                }
+            }
+
+            this.queued.addAndGet(-removed);
+        }
+    }
+
+    interface IThen<T> {
+        IElse<T> thenSubscribe(final Flow.Subscriber<? super T> subscriber);
+    }
+
+    interface IElseIf<T> {
+        IElse<T> thenSubscribe(final Flow.Subscriber<? super T> subscriber);
+    }
+
+    interface IElse<T> {
+        IElseIf<T> elseIf(final Predicate<? super T> predicate);
+
+        void elseSubscribe(final Flow.Subscriber<? super T> subscriber);
+
+        void elseDoNothing();
+    }
+
+    static final class Builder<T> implements IThen<T>, IElseIf<T>, IElse<T> {
+        private final Flow.Publisher<T> publisher;
+        private final int bufferSize;
+        private final List<Predicate<? super T>> predicates = new ArrayList<>();
+        private final List<Flow.Subscriber<? super T>> subscribers = new ArrayList<>();
+
+        Builder(final Flow.Publisher<T> publisher, final Predicate<? super T> predicate, final int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive, was " + bufferSize);
+            }
+
+            this.publisher = publisher;
+            this.bufferSize = bufferSize;
+            this.predicates.add(predicate);
+        }
+
+        @Override
+        public IElse<T> thenSubscribe(final Flow.Subscriber<? super T> subscriber) {
+            this.subscribers.add(subscriber);
+            return this;
+        }
+
+        @Override
+        public IElseIf<T> elseIf(final Predicate<? super T> predicate) {
+            this.predicates.add(predicate);
+            return this;
+        }
+
+        @Override
+        public void elseSubscribe(final Flow.Subscriber<? super T> subscriber) {
+            this.subscribers.add(subscriber);
+            new FlowRouter<>(this.predicates, this.subscribers, true, this.bufferSize).connect(this.publisher);
+        }
+
+        @Override
+        public void elseDoNothing() {
+            new FlowRouter<>(this.predicates, this.subscribers, false, this.bufferSize).connect(this.publisher);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.thenakliman.ifs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// on JDK 16 and later every method handle expression gets a hidden class whose static final field holds the
+// guardWithTest tree as class data, so the JIT folds the tree like a constant. Older runtimes keep the tree
+// behind a ConstantCallSite, which is only folded when the expression itself sits in a static final field.
+// The class file is written here instead of being read from a resource, so a shaded or relocated copy of the
+// library defines its hidden classes in its own package
+final class GuardedInvoker {
+    private static final String TARGET = "TARGET";
+    private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String METHOD_HANDLES = "java/lang/invoke/MethodHandles";
+    private static final String LOOKUP = "Ljava/lang/invoke/MethodHandles$Lookup;";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String APPLY = "(Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private static final MethodHandle DEFINE_HIDDEN_CLASS;
+    private static final Object NO_OPTIONS;
+    private static final byte[] CLASS_FILE;
+
+    static {
+        MethodHandle defineHiddenClass = null;
+        Object noOptions = null;
+        try {
+            final Class<?> options = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            noOptions = Array.newInstance(options, 0);
+            defineHiddenClass = MethodHandles.publicLookup().findVirtual(
+                    MethodHandles.Lookup.class,
+                    "defineHiddenClassWithClassData",
+                    MethodType.methodType(MethodHandles.Lookup.class,
+                            byte[].class, Object.class, boolean.class, noOptions.getClass())).asFixedArity();
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException exception) {
+            // before JDK 16, the ConstantCallSite is used
+        }
+
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NO_OPTIONS = noOptions;
+        CLASS_FILE = defineHiddenClass == null ? null : classFile(GuardedInvoker.class.getPackage().getName());
+    }
+
+    private GuardedInvoker() {
+        // Not allowed to create instance
+    }
+
+    // target has to be of type (Object)Object
+    static Function<Object, Object> invoker(final MethodHandle target) {
+        if (DEFINE_HIDDEN_CLASS == null) {
+            return constantCallSite(target);
+        }
+
+        return hiddenClass(target);
+    }
+
+    static boolean isHiddenClassAvailable() {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> hiddenClass(final MethodHandle target) {
+        try {
+            // not STRONG, the hidden class is unloaded together with the expression
+            final MethodHandles.Lookup lookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(
+                    MethodHandles.lookup(), CLASS_FILE, target, true, NO_OPTIONS);
+            return (Function<Object, Object>) lookup.findConstructor(
+                    lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (final RuntimeException | Error exception) {
+            throw exception;
+        } catch (final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    static Function<Object, Object> constantCallSite(final MethodHandle target) {
+        final MethodHandle invoker = new ConstantCallSite(target).dynamicInvoker();
+        return input -> {
+            try {
+                return invoker.invokeExact(input);
+            } catch (final RuntimeException | Error exception) {
+                throw exception;
+            } catch (final Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        };
+    }
+
+    // final class <package>.GuardedTarget implements Function {
+    //     private static final MethodHandle TARGET =
+    //             MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle.class);
+    //     public Object apply(Object input) { return TARGET.invokeExact(input); }
+    // }
+    // straight line code only, so the class file needs no stack map frames
+    private static byte[] classFile(final String packageName) {
+        final String name = (packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/") + "GuardedTarget";
+        final ConstantPool pool = new ConstantPool();
+        final int thisClass = pool.classRef(name);
+        final int superClass = pool.classRef(OBJECT);
+        final int function = pool.classRef("java/util/function/Function");
+        final int target = pool.fieldRef(name, TARGET, "L" + METHOD_HANDLE + ";");
+        final int objectInit = pool.methodRef(OBJECT, "<init>", "()V");
+        final int lookup = pool.methodRef(METHOD_HANDLES, "lookup", "()" + LOOKUP);
+        final int dataName = pool.string("_");
+        final int handleClass = pool.classRef(METHOD_HANDLE);
+        final int classData = pool.methodRef(METHOD_HANDLES, "classData",
+                "(" + LOOKUP + "Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;");
+        final int invokeExact = pool.methodRef(METHOD_HANDLE, "invokeExact", APPLY);
+        final int fieldName = pool.utf8(TARGET);
+        final int fieldDescriptor = pool.utf8("L" + METHOD_HANDLE + ";");
+        final int code = pool.utf8("Code");
+        final int init = pool.utf8("<init>");
+        final int clinit = pool.utf8("<clinit>");
+        final int apply = pool.utf8("apply");
+        final int noArguments = pool.utf8("()V");
+        final int applyDescriptor = pool.utf8(APPLY);
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            // Java 8
+            out.writeShort(52);
+            pool.write(out);
+            // ACC_FINAL | ACC_SUPER
+            out.writeShort(0x0030);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(function);
+
+            out.writeShort(1);
+            // ACC_PRIVATE | ACC_STATIC | ACC_FINAL
+            out.writeShort(0x001A);
+            out.writeShort(fieldName);
+            out.writeShort(fieldDescriptor);
+            out.writeShort(0);
+
+            out.writeShort(3);
+            // aload_0, invokespecial Object.<init>, return
+            method(out, 0x0001, init, noArguments, code, 1, 1,
+                    0x2A, 0xB7, objectInit >> 8, objectInit & 0xFF, 0xB1);
+            // invokestatic lookup, ldc_w "_", ldc_w MethodHandle, invokestatic classData, checkcast, putstatic, return
+            method(out, 0x0008, clinit, noArguments, code, 3, 0,
+                    0xB8, lookup >> 8, lookup & 0xFF,
+                    0x13, dataName >> 8, dataName & 0xFF,
+                    0x13, handleClass >> 8, handleClass & 0xFF,
+                    0xB8, classData >> 8, classData & 0xFF,
+                    0xC0, handleClass >> 8, handleClass & 0xFF,
+                    0xB3, target >> 8, target & 0xFF,
+                    0xB1);
+            // getstatic TARGET, aload_1, invokevirtual invokeExact, areturn
+            method(out, 0x0001, apply, applyDescriptor, code, 2, 2,
+                    0xB2, target >> 8, target & 0xFF,
+                    0x2B,
+                    0xB6, invokeExact >> 8, invokeExact & 0xFF,
+                    0xB0);
+
+            out.writeShort(0);
+            return bytes.toByteArray();
+        } catch (final IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void method(final DataOutputStream out,
+                               final int access,
+                               final int name,
+                               final int descriptor,
+                               final int code,
+                               final int maxStack,
+                               final int maxLocals,
+                               final int... instructions) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(code);
+        out.writeInt(12 + instructions.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(instructions.length);
+        for (final int instruction : instructions) {
+            out.writeByte(instruction);
+        }
+
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    // entries are deduplicated by their tag and content and written in the order they were added
+    private static final class ConstantPool {
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+        private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(entries);
+
+        private int utf8(final String value) {
+            return entry("1:" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        private int classRef(final String name) {
+            final int nameIndex = utf8(name);
+            return entry("7:" + name, () -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        private int string(final String value) {
+            final int valueIndex = utf8(value);
+            return entry("8:" + value, () -> {
+                out.writeByte(8);
+                out.writeShort(valueIndex);
+            });
+        }
+
+        private int nameAndType(final String name, final String descriptor) {
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            return entry("12:" + name + ":" + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+        }
+
+        private int fieldRef(final String owner, final String name, final String descriptor) {
+            return member(9, owner, name, descriptor);
+        }
+
+        private int methodRef(final String owner, final String name, final String descriptor) {
+            return member(10, owner, name, descriptor);
+        }
+
+        private int member(final int tag, final String owner, final String name, final String descriptor) {
+            final int ownerIndex = classRef(owner);
+            final int nameAndTypeIndex = nameAndType(name, descriptor);
+            return entry(tag + ":" + owner + "." + name + ":" + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        private int entry(final String key, final IEntryWriter writer) {
+            final Integer existing = indexes.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            try {
+                writer.write();
+            } catch (final IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+
+            final int index = indexes.size() + 1;
+            indexes.put(key, index);
+            return index;
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeShort(indexes.size() + 1);
+            output.write(entries.toByteArray());
+        }
+    }
+
+    private interface IEntryWriter {
+        void write() throws IOException;
+    }
+}
@@ -1,8 +1,19 @@
 package com.thenakliman.ifs;
 
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 final class If {
     private If() {
@@ -10,50 +21,83 @@ final class If {
     }
 
     public static <T> NullTernary.IThen<T> isNull(final T value) {
-        if (Objects.isNull(value)) {
-            return new NullTernary.NullThen<>();
+        if (BranchStatistics.record(Objects.isNull(value))) {
+            return NullTernary.NullThen.instance();
         }
 
         return new NullTernary.NonNullThen<>(value);
     }
 
-    public static IfExpression.IExpressionThen isTrue(final Boolean expression) {
-        if (expression) {
-            return new IfExpression.TrueExpressionThen();
+    public static IfExpression.IExpressionThen isTrue(final boolean expression) {
+        if (BranchStatistics.record(expression)) {
+            return IfExpression.TrueExpressionThen.INSTANCE;
         }
 
-        return new IfExpression.FalseExpressionThen();
+        return IfExpression.FalseExpressionThen.INSTANCE;
     }
 
-    public static IfExpression.IExpressionThen isFalse(final Boolean expression) {
-        if (!expression) {
-            return new IfExpression.TrueExpressionThen();
+    public static IfExpression.IExpressionThen isFalse(final boolean expression) {
+        if (BranchStatistics.record(!expression)) {
+            return IfExpression.TrueExpressionThen.INSTANCE;
         }
 
-        return new IfExpression.FalseExpressionThen();
+        return IfExpression.FalseExpressionThen.INSTANCE;
     }
 
-    public static IfOnly.IExecute isTrueThen(final Boolean expression) {
-        if (expression) {
-            return new IfOnly.Execution();
+    public static IfOnly.IExecute isTrueThen(final boolean expression) {
+        if (BranchStatistics.record(expression)) {
+            return IfOnly.Execution.INSTANCE;
         }
 
-        return new IfOnly.SkipExecution();
+        return IfOnly.SkipExecution.INSTANCE;
     }
 
-    public static IfOnly.IExecute isFalseThen(final Boolean expression) {
-        if (expression) {
-            return new IfOnly.SkipExecution();
+    public static IfOnly.IExecute isFalseThen(final boolean expression) {
+        if (BranchStatistics.record(!expression)) {
+            return IfOnly.Execution.INSTANCE;
         }
 
-        return new IfOnly.Execution();
+        return IfOnly.SkipExecution.INSTANCE;
     }
 
+    public static IfExpression.IExpressionThen isTrue(final BooleanSupplier booleanSupplier) {
+        return isTrue(booleanSupplier.getAsBoolean());
+    }
+
+    public static IfExpression.IExpressionThen isFalse(final BooleanSupplier booleanSupplier) {
+        return isFalse(booleanSupplier.getAsBoolean());
+    }
+
+    public static IfExpression.IExpressionThen anyTrue(final BooleanSupplier... booleanSuppliers) {
+        return isTrue(ConcurrentConditions.anyTrue(booleanSuppliers));
+    }
+
+    public static IfExpression.IExpressionThen anyTrue(final Executor executor,
+                                                       final BooleanSupplier... booleanSuppliers) {
+        return isTrue(ConcurrentConditions.anyTrue(executor, booleanSuppliers));
+    }
+
+    public static IfExpression.IExpressionThen allTrue(final BooleanSupplier... booleanSuppliers) {
+        return isTrue(ConcurrentConditions.allTrue(booleanSuppliers));
+    }
+
+    public static IfExpression.IExpressionThen allTrue(final Executor executor,
+                                                       final BooleanSupplier... booleanSuppliers) {
+        return isTrue(ConcurrentConditions.allTrue(executor, booleanSuppliers));
+    }
+
+    public static IfOnly.IExecute isTrueThen(final BooleanSupplier booleanSupplier) {
+        return isTrueThen(booleanSupplier.getAsBoolean());
+    }
+
+    public static IfOnly.IExecute isFalseThen(final BooleanSupplier booleanSupplier) {
+        return isFalseThen(booleanSupplier.getAsBoolean());
+    }
 
     public static <T> T orElse(final boolean expression,
                                final Supplier<? extends T> ifSupplier,
                                final Supplier<? extends T> elseSupplier) {
-        if (expression) {
+        if (BranchStatistics.record(expression)) {
             return ifSupplier.get();
         }
 
@@ -67,6 +111,22 @@ final class If {
         return orElse(booleanSupplier.get(), ifSupplier, elseSupplier);
     }
 
+    public static <T> T orElse(final BooleanSupplier booleanSupplier,
+                               final Supplier<? extends T> ifSupplier,
+                               final Supplier<? extends T> elseSupplier) {
+
+        return orElse(booleanSupplier.getAsBoolean(), ifSupplier, elseSupplier);
+    }
+
+    // both suppliers must be free of side effects and respond to interrupts, they start before the condition is known
+    public static <T> T orElseSpeculative(final BooleanSupplier booleanSupplier,
+                                          final Supplier<? extends T> ifSupplier,
+                                          final Supplier<? extends T> elseSupplier,
+                                          final Executor executor) {
+
+        return Speculation.orElse(booleanSupplier, ifSupplier, elseSupplier, executor);
+    }
+
     public static <T, R> R nullOrElse(final T value,
                                       final Supplier<? extends R> ifSupplier,
                                       final Supplier<? extends R> elseSupplier) {
@@ -88,26 +148,114 @@ final class If {
         orElse(booleanSupplier.get(), ifCallable, elseCallable);
     }
 
+    public static void orElse(final BooleanSupplier booleanSupplier,
+                              final IfExpression.Callable ifCallable,
+                              final IfExpression.Callable elseCallable) {
+
+        orElse(booleanSupplier.getAsBoolean(), ifCallable, elseCallable);
+    }
+
     public static void orElse(final boolean expression,
                               final IfExpression.Callable ifCallable,
                               final IfExpression.Callable elseCallable) {
-        if (expression) {
+        if (BranchStatistics.record(expression)) {
             ifCallable.call();
+            return;
         }
 
         elseCallable.call();
     }
 
     public static <T> T orElse(final boolean expression, final T thenValue, final T elseValue) {
-        return orElse(expression, () -> thenValue, () -> elseValue);
+        if (BranchStatistics.record(expression)) {
+            return thenValue;
+        }
+
+        return elseValue;
+    }
+
+    public static int orElse(final boolean expression, final int thenValue, final int elseValue) {
+        if (BranchStatistics.record(expression)) {
+            return thenValue;
+        }
+
+        return elseValue;
+    }
+
+    public static int orElse(final BooleanSupplier booleanSupplier, final int thenValue, final int elseValue) {
+        return orElse(booleanSupplier.getAsBoolean(), thenValue, elseValue);
+    }
+
+    // hint is a constant at the call site, so only one of the two forms survives inlining
+    public static int orElse(final boolean expression,
+                             final int thenValue,
+                             final int elseValue,
+                             final BranchHint hint) {
+        if (hint == BranchHint.UNPREDICTABLE) {
+            return Branchless.select(BranchStatistics.record(expression), thenValue, elseValue);
+        }
+
+        return orElse(expression, thenValue, elseValue);
+    }
+
+    public static long orElse(final boolean expression, final long thenValue, final long elseValue) {
+        if (BranchStatistics.record(expression)) {
+            return thenValue;
+        }
+
+        return elseValue;
+    }
+
+    public static long orElse(final BooleanSupplier booleanSupplier, final long thenValue, final long elseValue) {
+        return orElse(booleanSupplier.getAsBoolean(), thenValue, elseValue);
+    }
+
+    // hint is a constant at the call site, so only one of the two forms survives inlining
+    public static long orElse(final boolean expression,
+                              final long thenValue,
+                              final long elseValue,
+                              final BranchHint hint) {
+        if (hint == BranchHint.UNPREDICTABLE) {
+            return Branchless.select(BranchStatistics.record(expression), thenValue, elseValue);
+        }
+
+        return orElse(expression, thenValue, elseValue);
+    }
+
+    public static double orElse(final boolean expression, final double thenValue, final double elseValue) {
+        if (BranchStatistics.record(expression)) {
+            return thenValue;
+        }
+
+        return elseValue;
+    }
+
+    public static double orElse(final BooleanSupplier booleanSupplier, final double thenValue, final double elseValue) {
+        return orElse(booleanSupplier.getAsBoolean(), thenValue, elseValue);
+    }
+
+    // hint is a constant at the call site, so only one of the two forms survives inlining
+    public static double orElse(final boolean expression,
+                                final double thenValue,
+                                final double elseValue,
+                                final BranchHint hint) {
+        if (hint == BranchHint.UNPREDICTABLE) {
+            return Branchless.select(BranchStatistics.record(expression), thenValue, elseValue);
+        }
+
+        return orElse(expression, thenValue, elseValue);
     }
 
     public static <T> T orElse(final Supplier<Boolean> booleanSupplier, final T thenValue, final T elseValue) {
-        return orElse(booleanSupplier.get(), () -> thenValue, () -> elseValue);
+        return orElse((boolean) booleanSupplier.get(), thenValue, elseValue);
+    }
+
+    public static <T> T orElse(final BooleanSupplier booleanSupplier, final T thenValue, final T elseValue) {
+        return orElse(booleanSupplier.getAsBoolean(), thenValue, elseValue);
     }
 
     public static void isTrueThen(final boolean expression, final IfExpression.Callable ifCallable) {
-        if (expression) {
+        if (BranchStatistics.record(expression)) {
             ifCallable.call();
         }
     }
@@ -116,7 +264,154 @@ final class If {
         isTrueThen(supplier.get(), ifCallable);
     }
 
+    public static void isTrueThen(final BooleanSupplier booleanSupplier, final IfExpression.Callable ifCallable) {
+        isTrueThen(booleanSupplier.getAsBoolean(), ifCallable);
+    }
+
     public static <T> void isNullThen(final T value, final IfExpression.Callable ifCallable) {
         isTrueThen(Objects.isNull(value), ifCallable);
     }
+
+    public static AsyncExpression.IThen isTrueAsync(final CompletionStage<Boolean> expression) {
+        return new AsyncExpression.Then(expression, null);
+    }
+
+    public static AsyncExpression.IThen isTrueAsync(final CompletionStage<Boolean> expression, final Executor executor) {
+        return new AsyncExpression.Then(expression, Objects.requireNonNull(executor));
+    }
+
+    public static <T> AsyncNullTernary.IThen<T> isNullAsync(final CompletionStage<T> value) {
+        return new AsyncNullTernary.Then<>(value, null);
+    }
+
+    public static <T> AsyncNullTernary.IThen<T> isNullAsync(final CompletionStage<T> value, final Executor executor) {
+        return new AsyncNullTernary.Then<>(value, Objects.requireNonNull(executor));
+    }
+
+    // one virtual thread per task, throws UnsupportedOperationException before JDK 21
+    public static ExecutorService newVirtualThreadExecutor() {
+        return BranchExecutors.newVirtualThreadExecutor();
+    }
+
+    // best available for blocking branches: virtual threads on JDK 21 and later, a cached pool of daemon threads before
+    public static ExecutorService newBlockingBranchExecutor() {
+        return BranchExecutors.newBlockingBranchExecutor();
+    }
+
+    public static <T> FlowRouter.IThen<T> route(final Flow.Publisher<T> publisher, final Predicate<? super T> predicate) {
+        return route(publisher, predicate, Flow.defaultBufferSize());
+    }
+
+    public static <T> FlowRouter.IThen<T> route(final Flow.Publisher<T> publisher,
+                                                final Predicate<? super T> predicate,
+                                                final int bufferSize) {
+        return new FlowRouter.Builder<>(publisher, predicate, bufferSize);
+    }
+
+    public static <T> Supplier<T> lazy(final Supplier<? extends T> supplier) {
+        return new Memoization.Lazy<>(supplier);
+    }
+
+    // every distinct key is kept for as long as the function is reachable, bound long lived ones with maximumSize
+    public static <K, V> Function<K, V> memoize(final Function<? super K, ? extends V> function) {
+        return new Memoization.Memoized<>(function, Integer.MAX_VALUE);
+    }
+
+    public static <K, V> Function<K, V> memoize(final Function<? super K, ? extends V> function, final int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Negative maximum size " + maximumSize);
+        }
+
+        return new Memoization.Memoized<>(function, maximumSize);
+    }
+
+    public static <I> CompiledExpression.IThen<I> compile(final Predicate<? super I> predicate) {
+        return new CompiledExpression.Then<>(predicate);
+    }
+
+    public static <K> MatchExpression.IMatch<K> match(final K key) {
+        return new MatchExpression.Match<>(key);
+    }
+
+    public static <K, O> CompiledMatch.IWhen<K, O> compileMatch() {
+        return new CompiledMatch.Builder<>();
+    }
+
+    public static <E extends Enum<E>, O> CompiledEnumMatch.IWhen<E, O> compileMatchEnum(final Class<E> type) {
+        return new CompiledEnumMatch.Builder<>(type);
+    }
+
+    public static <T, P, Q> Collector<T, ?, RoutingCollector.Partition<P, Q>> partitioning(
+            final Predicate<? super T> predicate,
+            final Collector<? super T, ?, P> thenCollector,
+            final Collector<? super T, ?, Q> elseCollector) {
+        return RoutingCollector.partitioning(predicate, thenCollector, elseCollector, RoutingCollector.Partition::new);
+    }
+
+    public static <T, P, Q, R> Collector<T, ?, R> partitioning(final Predicate<? super T> predicate,
+                                                               final Collector<? super T, ?, P> thenCollector,
+                                                               final Collector<? super T, ?, Q> elseCollector,
+                                                               final BiFunction<? super P, ? super Q, ? extends R> merger) {
+        return RoutingCollector.partitioning(predicate, thenCollector, elseCollector, merger);
+    }
+
+    public static <T> RoutingCollector.IThen<T> routing(final Predicate<? super T> predicate) {
+        return new RoutingCollector.Then<>(predicate);
+    }
+
+    public static <O> CompiledRange.ILongWhen<O> range() {
+        return new CompiledRange.LongBuilder<>();
+    }
+
+    public static <O> CompiledRange.IDoubleWhen<O> doubleRange() {
+        return new CompiledRange.DoubleBuilder<>();
+    }
+
+    public static void select(final boolean[] mask, final int[] thenValues, final int[] elseValues, final int[] out) {
+        ArraySelect.select(mask, thenValues, elseValues, out);
+    }
+
+    public static void select(final boolean[] mask, final long[] thenValues, final long[] elseValues, final long[] out) {
+        ArraySelect.select(mask, thenValues, elseValues, out);
+    }
+
+    public static void select(final boolean[] mask, final float[] thenValues, final float[] elseValues, final float[] out) {
+        ArraySelect.select(mask, thenValues, elseValues, out);
+    }
+
+    public static void select(final boolean[] mask, final double[] thenValues, final double[] elseValues, final double[] out) {
+        ArraySelect.select(mask, thenValues, elseValues, out);
+    }
+
+    public static void select(final int[] values,
+                              final IntPredicate predicate,
+                              final int[] thenValues,
+                              final int[] elseValues,
+                              final int[] out) {
+        ArraySelect.select(values, predicate, thenValues, elseValues, out);
+    }
+
+    public static void select(final long[] values,
+                              final LongPredicate predicate,
+                              final long[] thenValues,
+                              final long[] elseValues,
+                              final long[] out) {
+        ArraySelect.select(values, predicate, thenValues, elseValues, out);
+    }
+
+    public static void select(final float[] values,
+                              final DoublePredicate predicate,
+                              final float[] thenValues,
+                              final float[] elseValues,
+                              final float[] out) {
+        ArraySelect.select(values, predicate, thenValues, elseValues, out);
+    }
+
+    public static void select(final double[] values,
+                              final DoublePredicate predicate,
+                              final double[] thenValues,
+                              final double[] elseValues,
+                              final double[] out) {
+        ArraySelect.select(values, predicate, thenValues, elseValues, out);
+    }
 }
@@ -1,5 +1,8 @@
 package com.thenakliman.ifs;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 class IfExpression {
@@ -68,6 +71,18 @@ class IfExpression {
 
         <T> IElse<T> thenValue(final T value);
 
+        PrimitiveExpression.IIntElse thenInt(final int value);
+
+        PrimitiveExpression.IIntElse thenInt(final IntSupplier supplier);
+
+        PrimitiveExpression.ILongElse thenLong(final long value);
+
+        PrimitiveExpression.ILongElse thenLong(final LongSupplier supplier);
+
+        PrimitiveExpression.IDoubleElse thenDouble(final double value);
+
+        PrimitiveExpression.IDoubleElse thenDouble(final DoubleSupplier supplier);
+
         IElseCall thenCall(final Callable callable);
 
         <X extends Throwable> IException thenThrow(final Supplier<? extends X> exceptionSupplier) throws X;
@@ -88,9 +103,14 @@ class IfExpression {
     }
 
     static class TrueExpressionThen implements IExpressionThen {
+        static final TrueExpressionThen INSTANCE = new TrueExpressionThen();
+
+        private TrueExpressionThen() {
+        }
+
         @Override
         public <T> IElse<T> thenGet(final Supplier<? extends T> supplier) {
-            return new TrueExpression<>(supplier.get());
+            return new TrueExpression<>(BranchEvents.get(supplier, BranchEvents.THEN));
         }
 
         @Override
@@ -98,42 +118,109 @@ class IfExpression {
             return new TrueExpression<>(value);
         }
 
+        @Override
+        public PrimitiveExpression.IIntElse thenInt(final int value) {
+            return new PrimitiveExpression.TrueInt(value);
+        }
+
+        @Override
+        public PrimitiveExpression.IIntElse thenInt(final IntSupplier supplier) {
+            return new PrimitiveExpression.TrueInt(BranchEvents.getAsInt(supplier, BranchEvents.THEN));
+        }
+
+        @Override
+        public PrimitiveExpression.ILongElse thenLong(final long value) {
+            return new PrimitiveExpression.TrueLong(value);
+        }
+
+        @Override
+        public PrimitiveExpression.ILongElse thenLong(final LongSupplier supplier) {
+            return new PrimitiveExpression.TrueLong(BranchEvents.getAsLong(supplier, BranchEvents.THEN));
+        }
+
+        @Override
+        public PrimitiveExpression.IDoubleElse thenDouble(final double value) {
+            return new PrimitiveExpression.TrueDouble(value);
+        }
+
+        @Override
+        public PrimitiveExpression.IDoubleElse thenDouble(final DoubleSupplier supplier) {
+            return new PrimitiveExpression.TrueDouble(BranchEvents.getAsDouble(supplier, BranchEvents.THEN));
+        }
+
         @Override
         public IElseCall thenCall(final Callable callable) {
-            callable.call();
-            return new DoNothingObject();
+            BranchEvents.call(callable, BranchEvents.THEN);
+            return DoNothingObject.INSTANCE;
         }
 
         public <X extends Throwable> IException thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 
     static class FalseExpressionThen implements IExpressionThen {
+        static final FalseExpressionThen INSTANCE = new FalseExpressionThen();
+
+        private FalseExpressionThen() {
+        }
+
         @Override
         public <T> IElse<T> thenGet(final Supplier<? extends T> supplier) {
-            return new FalseExpression<>();
+            return FalseExpression.instance();
         }
 
         @Override
         public <T> IElse<T> thenValue(final T value) {
-            return new FalseExpression<>();
+            return FalseExpression.instance();
+        }
+
+        @Override
+        public PrimitiveExpression.IIntElse thenInt(final int value) {
+            return PrimitiveExpression.FalseInt.INSTANCE;
+        }
+
+        @Override
+        public PrimitiveExpression.IIntElse thenInt(final IntSupplier supplier) {
+            return PrimitiveExpression.FalseInt.INSTANCE;
+        }
+
+        @Override
+        public PrimitiveExpression.ILongElse thenLong(final long value) {
+            return PrimitiveExpression.FalseLong.INSTANCE;
+        }
+
+        @Override
+        public PrimitiveExpression.ILongElse thenLong(final LongSupplier supplier) {
+            return PrimitiveExpression.FalseLong.INSTANCE;
+        }
+
+        @Override
+        public PrimitiveExpression.IDoubleElse thenDouble(final double value) {
+            return PrimitiveExpression.FalseDouble.INSTANCE;
+        }
+
+        @Override
+        public PrimitiveExpression.IDoubleElse thenDouble(final DoubleSupplier supplier) {
+            return PrimitiveExpression.FalseDouble.INSTANCE;
         }
 
         @Override
         public IElseCall thenCall(final Callable callable) {
-            return new FalseExpressionCall();
+            return FalseExpressionCall.INSTANCE;
         }
 
         public <X extends Throwable> IException thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            return new ElseException();
+            return ElseException.INSTANCE;
         }
     }
 
     private static class ElseException implements IException {
+        private static final ElseException INSTANCE = new ElseException();
+
         @Override
         public void elseCall(final Callable callable) {
-            callable.call();
+            BranchEvents.call(callable, BranchEvents.ELSE);
         }
 
         @Override
@@ -143,21 +230,21 @@ class IfExpression {
 
         @Override
         public <X extends Throwable> void elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
 
         @Override
         public <T> T elseGet(final Supplier<? extends T> supplier) {
-            return supplier.get();
+            return BranchEvents.get(supplier, BranchEvents.ELSE);
         }
 
         @Override
         public IExceptionElseIf elseIf(final boolean expression) {
             if (expression) {
-                return new IExceptionTrueElseIfImpl();
+                return IExceptionTrueElseIfImpl.INSTANCE;
             }
 
-            return new IExceptionFalseElseIfImpl();
+            return IExceptionFalseElseIfImpl.INSTANCE;
         }
 
         @Override
@@ -166,30 +253,34 @@ class IfExpression {
         }
 
         private static class IExceptionFalseElseIfImpl implements IExceptionElseIf {
+            private static final IExceptionFalseElseIfImpl INSTANCE = new IExceptionFalseElseIfImpl();
+
             @Override
             public <T> IElse<T> thenGet(final Supplier<? extends T> supplier) {
-                return new FalseExpression<>();
+                return FalseExpression.instance();
             }
 
             @Override
             public <T> IElse<T> thenValue(final T value) {
-                return new FalseExpression<>();
+                return FalseExpression.instance();
             }
 
             @Override
             public <T> IElseCall thenCall(final Callable callable) {
-                return new FalseExpressionCall();
+                return FalseExpressionCall.INSTANCE;
             }
 
             @Override
             public <X extends Throwable> IExceptionThrow thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                return new ExceptionThrow();
+                return ExceptionThrow.INSTANCE;
             }
 
             private static class ExceptionThrow implements IExceptionThrow {
+                private static final ExceptionThrow INSTANCE = new ExceptionThrow();
+
                 @Override
                 public <T> T elseGet(final Supplier<? extends T> supplier) {
-                    return supplier.get();
+                    return BranchEvents.get(supplier, BranchEvents.ELSE);
                 }
 
                 @Override
@@ -200,15 +291,15 @@ class IfExpression {
                 @Override
                 public IExceptionElseIf elseIf(final boolean expression) {
                     if (expression) {
-                        return new IExceptionTrueElseIfImpl();
+                        return IExceptionTrueElseIfImpl.INSTANCE;
                     }
 
-                    return new IExceptionFalseElseIfImpl();
+                    return IExceptionFalseElseIfImpl.INSTANCE;
                 }
 
                 @Override
                 public <Y extends Throwable> void elseThrow(final Supplier<? extends Y> exceptionSupplier) throws Y {
-                    throw exceptionSupplier.get();
+                    throw BranchStatistics.thrown(exceptionSupplier.get());
                 }
 
                 @Override
@@ -219,9 +310,11 @@ class IfExpression {
         }
 
         private static class IExceptionTrueElseIfImpl implements IExceptionElseIf {
+            private static final IExceptionTrueElseIfImpl INSTANCE = new IExceptionTrueElseIfImpl();
+
             @Override
             public <T> IElse<T> thenGet(final Supplier<? extends T> supplier) {
-                return new TrueExpression<>(supplier.get());
+                return new TrueExpression<>(BranchEvents.get(supplier, BranchEvents.ELSE_IF));
             }
 
             @Override
@@ -231,18 +324,18 @@ class IfExpression {
 
             @Override
             public <T> IElseCall thenCall(final Callable callable) {
-                callable.call();
-                return new DoNothingObject();
+                BranchEvents.call(callable, BranchEvents.ELSE_IF);
+                return DoNothingObject.INSTANCE;
             }
 
             @Override
             public <X extends Throwable> IExceptionThrow thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                throw exceptionSupplier.get();
+                throw BranchStatistics.thrown(exceptionSupplier.get());
             }
         }
     }
 
-    private static class TrueExpression<T> implements IElse<T> {
+    private static class TrueExpression<T> implements IElse<T>, IElseIf<T> {
         final private T value;
 
         TrueExpression(final T value) {
@@ -261,7 +354,8 @@ class IfExpression {
 
         @Override
         public IElseIf<T> elseIf(final boolean expression) {
-            return new ElseIf<>(this.value);
+            // value is already decided, rest of the chain carries it along
+            return this;
         }
 
         @Override
@@ -269,34 +363,33 @@ class IfExpression {
             return this.value;
         }
 
-        private static class ElseIf<T> implements IElseIf<T> {
-            final private T value;
-
-            public ElseIf(final T value) {
-                this.value = value;
-            }
-
-            @Override
-            public IElse<T> thenGet(final Supplier<? extends T> supplier) {
-                return new TrueExpression<>(this.value);
-            }
+        @Override
+        public IElse<T> thenGet(final Supplier<? extends T> supplier) {
+            return this;
+        }
 
-            @Override
-            public IElse<T> thenValue(final T value) {
-                return new TrueExpression<>(this.value);
-            }
+        @Override
+        public IElse<T> thenValue(final T value) {
+            return this;
+        }
 
-            @Override
-            public <X extends Throwable> IElse<T> thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                return new TrueExpression<>(this.value);
-            }
+        @Override
+        public <X extends Throwable> IElse<T> thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this;
         }
     }
 
     private static class FalseExpression<T> implements IElse<T> {
+        private static final FalseExpression<?> INSTANCE = new FalseExpression<>();
+
+        @SuppressWarnings("unchecked")
+        static <T> FalseExpression<T> instance() {
+            return (FalseExpression<T>) INSTANCE;
+        }
+
         @Override
         public T elseGet(final Supplier<? extends T> supplier) {
-            return supplier.get();
+            return BranchEvents.get(supplier, BranchEvents.ELSE);
         }
 
         @Override
@@ -307,21 +400,28 @@ class IfExpression {
         @Override
         public IElseIf<T> elseIf(final boolean expression) {
             if (expression) {
-                return new TrueElseIf<>();
+                return TrueElseIf.instance();
             }
 
-            return new FalseElseIf<>();
+            return FalseElseIf.instance();
         }
 
         @Override
         public <X extends Throwable> T elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
 
         private static class TrueElseIf<T> implements IElseIf<T> {
+            private static final TrueElseIf<?> INSTANCE = new TrueElseIf<>();
+
+            @SuppressWarnings("unchecked")
+            static <T> TrueElseIf<T> instance() {
+                return (TrueElseIf<T>) INSTANCE;
+            }
+
             @Override
             public IElse<T> thenGet(final Supplier<? extends T> supplier) {
-                return new TrueExpression<>(supplier.get());
+                return new TrueExpression<>(BranchEvents.get(supplier, BranchEvents.ELSE_IF));
             }
 
             @Override
@@ -331,29 +431,38 @@ class IfExpression {
 
             @Override
             public <X extends Throwable> IElse<T> thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                throw exceptionSupplier.get();
+                throw BranchStatistics.thrown(exceptionSupplier.get());
             }
         }
 
         private static class FalseElseIf<T> implements IElseIf<T> {
+            private static final FalseElseIf<?> INSTANCE = new FalseElseIf<>();
+
+            @SuppressWarnings("unchecked")
+            static <T> FalseElseIf<T> instance() {
+                return (FalseElseIf<T>) INSTANCE;
+            }
+
             @Override
             public IElse<T> thenGet(final Supplier<? extends T> supplier) {
-                return new FalseExpression<>();
+                return FalseExpression.instance();
             }
 
             @Override
             public IElse<T> thenValue(final T value) {
-                return new FalseExpression<>();
+                return FalseExpression.instance();
             }
 
             @Override
             public <X extends Throwable> IElse<T> thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                return new FalseExpression<>();
+                return FalseExpression.instance();
             }
         }
     }
 
     private static class DoNothingObject implements IElseCall {
+        private static final DoNothingObject INSTANCE = new DoNothingObject();
+
         @Override
         public void elseCall(final Callable callable) {
             // does not anything
@@ -366,18 +475,7 @@ class IfExpression {
 
         @Override
         public IElseIfCall elseIf(final boolean expression) {
-            return new IElseIfCall() {
-
-                @Override
-                public IElseCall thenCall(final Callable callable) {
-                    return new DoNothingObject();
-                }
-
-                @Override
-                public <X extends Throwable> IElseCall thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-                    return new DoNothingObject();
-                }
-            };
+            return DoNothingElseIfCall.INSTANCE;
         }
 
         @Override
@@ -386,24 +484,40 @@ class IfExpression {
         }
     }
 
+    private static class DoNothingElseIfCall implements IElseIfCall {
+        private static final DoNothingElseIfCall INSTANCE = new DoNothingElseIfCall();
+
+        @Override
+        public IElseCall thenCall(final Callable callable) {
+            return DoNothingObject.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> IElseCall thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return DoNothingObject.INSTANCE;
+        }
+    }
+
     private static class FalseExpressionCall implements IElseCall {
+        private static final FalseExpressionCall INSTANCE = new FalseExpressionCall();
+
         @Override
         public void elseCall(final Callable callable) {
-            callable.call();
+            BranchEvents.call(callable, BranchEvents.ELSE);
         }
 
         @Override
         public <X extends Throwable> void elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
 
         @Override
         public IElseIfCall elseIf(final boolean expression) {
             if (expression) {
-                return new TrueElseIfCall();
+                return TrueElseIfCall.INSTANCE;
             }
 
-            return new FalseElseIfCall();
+            return FalseElseIfCall.INSTANCE;
         }
 
         @Override
@@ -413,27 +527,31 @@ class IfExpression {
     }
 
     private static class TrueElseIfCall implements IElseIfCall {
+        private static final TrueElseIfCall INSTANCE = new TrueElseIfCall();
+
         @Override
         public IElseCall thenCall(final Callable callable) {
-            callable.call();
-            return new DoNothingObject();
+            BranchEvents.call(callable, BranchEvents.ELSE_IF);
+            return DoNothingObject.INSTANCE;
         }
 
         @Override
         public <X extends Throwable> IElseCall thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 
     private static class FalseElseIfCall implements IElseIfCall {
+        private static final FalseElseIfCall INSTANCE = new FalseElseIfCall();
+
         @Override
         public IElseCall thenCall(final Callable callable) {
-            return new FalseExpressionCall();
+            return FalseExpressionCall.INSTANCE;
         }
 
         @Override
         public <X extends Throwable> IElseCall thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            return new FalseExpressionCall();
+            return FalseExpressionCall.INSTANCE;
         }
     }
 }
@@ -0,0 +1,89 @@
+package com.thenakliman.ifs;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class IfInlined {
+    private IfInlined() {
+        // Not allowed to create instance
+    }
+
+    public static Object value(final boolean expression, final Object thenValue, final Object elseValue) {
+        return expression ? thenValue : elseValue;
+    }
+
+    public static Object valueOrGet(final boolean expression,
+                                    final Object thenValue,
+                                    final Supplier<?> elseSupplier) {
+        return expression ? thenValue : elseSupplier.get();
+    }
+
+    public static Object getOrValue(final boolean expression,
+                                    final Supplier<?> thenSupplier,
+                                    final Object elseValue) {
+        return expression ? thenSupplier.get() : elseValue;
+    }
+
+    public static Object get(final boolean expression,
+                             final Supplier<?> thenSupplier,
+                             final Supplier<?> elseSupplier) {
+        return expression ? thenSupplier.get() : elseSupplier.get();
+    }
+
+    public static int value(final boolean expression, final int thenValue, final int elseValue) {
+        return expression ? thenValue : elseValue;
+    }
+
+    public static long value(final boolean expression, final long thenValue, final long elseValue) {
+        return expression ? thenValue : elseValue;
+    }
+
+    public static double value(final boolean expression, final double thenValue, final double elseValue) {
+        return expression ? thenValue : elseValue;
+    }
+
+    public static void call(final boolean expression,
+                            final IfExpression.Callable thenCallable,
+                            final IfExpression.Callable elseCallable) {
+        if (expression) {
+            thenCallable.call();
+        } else {
+            elseCallable.call();
+        }
+    }
+
+    public static void call(final boolean expression, final IfExpression.Callable thenCallable) {
+        if (expression) {
+            thenCallable.call();
+        }
+    }
+
+    public static <X extends Throwable> void throwIf(final boolean expression,
+                                                     final Supplier<? extends X> exceptionSupplier) throws X {
+        if (expression) {
+            throw exceptionSupplier.get();
+        }
+    }
+
+    public static Object nullValue(final Object value, final Object thenValue, final Object elseValue) {
+        return value == null ? thenValue : elseValue;
+    }
+
+    public static Object nullValueOrMap(final Object value,
+                                        final Object thenValue,
+                                        final Function<Object, ?> elseFunction) {
+        return value == null ? thenValue : elseFunction.apply(value);
+    }
+
+    public static Object nullGetOrValue(final Object value,
+                                        final Supplier<?> thenSupplier,
+                                        final Object elseValue) {
+        return value == null ? thenSupplier.get() : elseValue;
+    }
+
+    public static Object nullGetOrMap(final Object value,
+                                      final Supplier<?> thenSupplier,
+                                      final Function<Object, ?> elseFunction) {
+        return value == null ? thenSupplier.get() : elseFunction.apply(value);
+    }
+}
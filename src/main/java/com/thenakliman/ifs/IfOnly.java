@@ -12,16 +12,26 @@ final class IfOnly {
     }
 
     public static class Execution implements IExecute {
+        static final Execution INSTANCE = new Execution();
+
+        private Execution() {
+        }
+
         public void thenCall(final IfExpression.Callable callable) {
-            callable.call();
+            BranchEvents.call(callable, BranchEvents.THEN);
         }
 
         public <X extends Throwable> void thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 
     public static class SkipExecution implements IExecute {
+        static final SkipExecution INSTANCE = new SkipExecution();
+
+        private SkipExecution() {
+        }
+
         public void thenCall(final IfExpression.Callable callable) {
             // do not call
         }
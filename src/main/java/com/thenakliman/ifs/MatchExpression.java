@@ -0,0 +1,143 @@
+package com.thenakliman.ifs;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+class MatchExpression {
+    interface IMatch<K> {
+        <O> IElse<K, O> whenValue(final K key, final O value);
+
+        <O> IElse<K, O> whenGet(final K key, final Supplier<? extends O> supplier);
+
+        <O, X extends Throwable> IElse<K, O> whenThrow(final K key, final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface IElse<K, O> {
+        IElse<K, O> whenValue(final K key, final O value);
+
+        IElse<K, O> whenGet(final K key, final Supplier<? extends O> supplier);
+
+        <X extends Throwable> IElse<K, O> whenThrow(final K key, final Supplier<? extends X> exceptionSupplier) throws X;
+
+        O elseValue(final O value);
+
+        O elseGet(final Supplier<? extends O> supplier);
+
+        <X extends Throwable> O elseThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    static final class Match<K> implements IMatch<K> {
+        private final K key;
+
+        Match(final K key) {
+            this.key = key;
+        }
+
+        @Override
+        public <O> IElse<K, O> whenValue(final K key, final O value) {
+            return new Unmatched<K, O>(this.key).whenValue(key, value);
+        }
+
+        @Override
+        public <O> IElse<K, O> whenGet(final K key, final Supplier<? extends O> supplier) {
+            return new Unmatched<K, O>(this.key).whenGet(key, supplier);
+        }
+
+        @Override
+        public <O, X extends Throwable> IElse<K, O> whenThrow(final K key,
+                                                              final Supplier<? extends X> exceptionSupplier) throws X {
+            return new Unmatched<K, O>(this.key).whenThrow(key, exceptionSupplier);
+        }
+    }
+
+    private static final class Unmatched<K, O> implements IElse<K, O> {
+        private final K key;
+
+        private Unmatched(final K key) {
+            this.key = key;
+        }
+
+        @Override
+        public IElse<K, O> whenValue(final K key, final O value) {
+            if (Objects.equals(this.key, key)) {
+                return new Matched<>(value);
+            }
+
+            return this;
+        }
+
+        @Override
+        public IElse<K, O> whenGet(final K key, final Supplier<? extends O> supplier) {
+            if (Objects.equals(this.key, key)) {
+                return new Matched<>(BranchEvents.get(supplier, BranchEvents.THEN));
+            }
+
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> IElse<K, O> whenThrow(final K key,
+                                                           final Supplier<? extends X> exceptionSupplier) throws X {
+            if (Objects.equals(this.key, key)) {
+                throw BranchStatistics.thrown(exceptionSupplier.get());
+            }
+
+            return this;
+        }
+
+        @Override
+        public O elseValue(final O value) {
+            return value;
+        }
+
+        @Override
+        public O elseGet(final Supplier<? extends O> supplier) {
+            return BranchEvents.get(supplier, BranchEvents.ELSE);
+        }
+
+        @Override
+        public <X extends Throwable> O elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class Matched<K, O> implements IElse<K, O> {
+        private final O value;
+
+        private Matched(final O value) {
+            this.value = value;
+        }
+
+        @Override
+        public IElse<K, O> whenValue(final K key, final O value) {
+            // first matching key wins, rest of the chain carries its value along
+            return this;
+        }
+
+        @Override
+        public IElse<K, O> whenGet(final K key, final Supplier<? extends O> supplier) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> IElse<K, O> whenThrow(final K key,
+                                                           final Supplier<? extends X> exceptionSupplier) throws X {
+            return this;
+        }
+
+        @Override
+        public O elseValue(final O value) {
+            return this.value;
+        }
+
+        @Override
+        public O elseGet(final Supplier<? extends O> supplier) {
+            return this.value;
+        }
+
+        @Override
+        public <X extends Throwable> O elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this.value;
+        }
+    }
+}
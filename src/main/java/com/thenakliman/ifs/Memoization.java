@@ -0,0 +1,95 @@
+package com.thenakliman.ifs;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// values are computed at most once and read without locking afterwards; a computation that throws is not cached,
+// the next call tries again. A memoized function keeps a lazy value per key and computes it outside of the map's
+// locks, so it may call itself for other keys, while threads missing the same key wait for the first one. It keeps
+// up to maximumSize keys for as long as it is reachable, keys beyond that are computed on every call
+final class Memoization {
+    private static final Object UNSET = new Object();
+    // stands for a null key, which ConcurrentHashMap cannot hold
+    private static final Object NULL = new Object();
+
+    private Memoization() {
+        // Not allowed to create instance
+    }
+
+    static final class Lazy<T> implements Supplier<T> {
+        private volatile Object value = UNSET;
+        private Supplier<? extends T> supplier;
+
+        Lazy(final Supplier<? extends T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            final Object value = this.value;
+            if (value != UNSET) {
+                return (T) value;
+            }
+
+            return compute();
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized T compute() {
+            if (this.value == UNSET) {
+                this.value = this.supplier.get();
+                // the supplier and whatever it captured can be collected
+                this.supplier = null;
+            }
+
+            return (T) this.value;
+        }
+    }
+
+    static final class Memoized<K, V> implements Function<K, V> {
+        private final ConcurrentMap<Object, Lazy<V>> values = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Function<? super K, ? extends V> function;
+        private final int maximumSize;
+
+        Memoized(final Function<? super K, ? extends V> function, final int maximumSize) {
+            this.function = function;
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        public V apply(final K key) {
+            final Object mapKey = key == null ? NULL : key;
+            Lazy<V> value = this.values.get(mapKey);
+            if (value == null) {
+                if (!reserve()) {
+                    return this.function.apply(key);
+                }
+
+                // creating a lazy value is cheap, a thread that loses the race drops its own
+                final Lazy<V> created = new Lazy<>(() -> this.function.apply(key));
+                value = this.values.putIfAbsent(mapKey, created);
+                if (value == null) {
+                    value = created;
+                } else {
+                    this.size.decrementAndGet();
+                }
+            }
+
+            return value.get();
+        }
+
+        private boolean reserve() {
+            if (this.size.incrementAndGet() <= this.maximumSize) {
+                return true;
+            }
+
+            this.size.decrementAndGet();
+            return false;
+        }
+    }
+}
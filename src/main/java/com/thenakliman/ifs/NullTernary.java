@@ -31,17 +31,27 @@ public final class NullTernary {
     }
 
     public static final class NullThen<T> implements IThen<T> {
+        private static final NullThen<?> INSTANCE = new NullThen<>();
+
+        private NullThen() {
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> NullThen<T> instance() {
+            return (NullThen<T>) INSTANCE;
+        }
+
         public <R> IElse<T, R> thenValue(final R returnValue) {
             return new NullElse<>(returnValue);
         }
 
         public <R> IElse<T, R> thenGet(final Supplier<R> supplier) {
-            final R returnValue = supplier.get();
+            final R returnValue = BranchEvents.get(supplier, BranchEvents.THEN);
             return new NullElse<>(returnValue);
         }
 
         public <X extends Throwable> IExceptionHandler<T> thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 
@@ -79,11 +89,11 @@ public final class NullTernary {
 
         @Override
         public <U> U elseMap(final Function<T, U> function) {
-            return function.apply(this.object);
+            return BranchEvents.apply(function, this.object, BranchEvents.ELSE);
         }
 
         public <X extends Throwable> void elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 
@@ -123,11 +133,11 @@ public final class NullTernary {
 
         @Override
         public R elseMap(final Function<T, R> function) {
-            return function.apply(this.object);
+            return BranchEvents.apply(function, this.object, BranchEvents.ELSE);
         }
 
         public <X extends Throwable> R elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
-            throw exceptionSupplier.get();
+            throw BranchStatistics.thrown(exceptionSupplier.get());
         }
     }
 }
@@ -0,0 +1,139 @@
+package com.thenakliman.ifs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+final class ParallelEvaluation {
+    // below this many elements a task is cheaper to run than to fork
+    static final int MIN_CHUNK = 1024;
+
+    private ParallelEvaluation() {
+        // Not allowed to create instance
+    }
+
+    static <I, O> void evaluateAll(final Function<? super I, ? extends O> expression,
+                                   final I[] input,
+                                   final O[] output,
+                                   final ForkJoinPool pool) {
+        evaluateAll(expression, Arrays.asList(input), output, pool);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I, O> void evaluateAll(final Function<? super I, ? extends O> expression,
+                                   final List<? extends I> input,
+                                   final O[] output,
+                                   final ForkJoinPool pool) {
+        checkLength(input.size(), output.length);
+        // a linked list is copied once, reading it by index from every task would be quadratic
+        final List<? extends I> indexed = input instanceof RandomAccess ? input : Arrays.asList((I[]) input.toArray());
+        final int chunk = Math.max(MIN_CHUNK, indexed.size() / (pool.getParallelism() << 2));
+        pool.invoke(new EvaluateTask<>(expression, indexed, output, 0, indexed.size(), chunk));
+    }
+
+    static void checkLength(final int input, final int output) {
+        if (input != output) {
+            throw new IllegalArgumentException("Input and output differ in length, " + input + " and " + output);
+        }
+    }
+
+    // each task owns a disjoint index range of output, so results land in input order without locking
+    private static final class EvaluateTask<I, O> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Function<? super I, ? extends O> expression;
+        private final List<? extends I> input;
+        private final O[] output;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        private EvaluateTask(final Function<? super I, ? extends O> expression,
+                             final List<? extends I> input,
+                             final O[] output,
+                             final int from,
+                             final int to,
+                             final int chunk) {
+            this.expression = expression;
+            this.input = input;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) {
+                    output[i] = expression.apply(input.get(i));
+                }
+
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new EvaluateTask<>(expression, input, output, from, middle, chunk),
+                    new EvaluateTask<>(expression, input, output, middle, to, chunk));
+        }
+    }
+
+    // maps elements as the source hands them out and splits wherever the source splits,
+    // the spliterator is its own consumer so advancing allocates nothing
+    static final class Evaluating<I, O> implements Spliterator<O>, Consumer<I> {
+        private static final int DROPPED = Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+        private final Function<? super I, ? extends O> expression;
+        private final Spliterator<? extends I> source;
+        private Consumer<? super O> action;
+
+        Evaluating(final Function<? super I, ? extends O> expression, final Spliterator<? extends I> source) {
+            this.expression = expression;
+            this.source = source;
+        }
+
+        @Override
+        public void accept(final I input) {
+            action.accept(expression.apply(input));
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super O> action) {
+            this.action = action;
+            return source.tryAdvance(this);
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super O> action) {
+            this.action = action;
+            source.forEachRemaining(this);
+        }
+
+        @Override
+        public Spliterator<O> trySplit() {
+            final Spliterator<? extends I> prefix = source.trySplit();
+            return prefix == null ? null : new Evaluating<>(expression, prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return source.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~DROPPED;
+        }
+    }
+}
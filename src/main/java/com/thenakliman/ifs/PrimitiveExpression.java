@@ -0,0 +1,399 @@
+package com.thenakliman.ifs;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+final class PrimitiveExpression {
+
+    interface IIntElse {
+        int elseValue(final int value);
+
+        int elseGet(final IntSupplier supplier);
+
+        IIntElseIf elseIf(final boolean expression);
+
+        <X extends Throwable> int elseThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface IIntElseIf {
+        IIntElse thenValue(final int value);
+
+        IIntElse thenGet(final IntSupplier supplier);
+
+        <X extends Throwable> IIntElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface ILongElse {
+        long elseValue(final long value);
+
+        long elseGet(final LongSupplier supplier);
+
+        ILongElseIf elseIf(final boolean expression);
+
+        <X extends Throwable> long elseThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface ILongElseIf {
+        ILongElse thenValue(final long value);
+
+        ILongElse thenGet(final LongSupplier supplier);
+
+        <X extends Throwable> ILongElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface IDoubleElse {
+        double elseValue(final double value);
+
+        double elseGet(final DoubleSupplier supplier);
+
+        IDoubleElseIf elseIf(final boolean expression);
+
+        <X extends Throwable> double elseThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    interface IDoubleElseIf {
+        IDoubleElse thenValue(final double value);
+
+        IDoubleElse thenGet(final DoubleSupplier supplier);
+
+        <X extends Throwable> IDoubleElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X;
+    }
+
+    static final class TrueInt implements IIntElse, IIntElseIf {
+        private final int value;
+
+        TrueInt(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int elseValue(final int value) {
+            return this.value;
+        }
+
+        @Override
+        public int elseGet(final IntSupplier supplier) {
+            return this.value;
+        }
+
+        @Override
+        public IIntElseIf elseIf(final boolean expression) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> int elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this.value;
+        }
+
+        @Override
+        public IIntElse thenValue(final int value) {
+            return this;
+        }
+
+        @Override
+        public IIntElse thenGet(final IntSupplier supplier) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> IIntElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this;
+        }
+    }
+
+    static final class FalseInt implements IIntElse {
+        static final FalseInt INSTANCE = new FalseInt();
+
+        private FalseInt() {
+        }
+
+        @Override
+        public int elseValue(final int value) {
+            return value;
+        }
+
+        @Override
+        public int elseGet(final IntSupplier supplier) {
+            return BranchEvents.getAsInt(supplier, BranchEvents.ELSE);
+        }
+
+        @Override
+        public IIntElseIf elseIf(final boolean expression) {
+            if (expression) {
+                return TrueIntElseIf.INSTANCE;
+            }
+
+            return FalseIntElseIf.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> int elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class TrueIntElseIf implements IIntElseIf {
+        private static final TrueIntElseIf INSTANCE = new TrueIntElseIf();
+
+        @Override
+        public IIntElse thenValue(final int value) {
+            return new TrueInt(value);
+        }
+
+        @Override
+        public IIntElse thenGet(final IntSupplier supplier) {
+            return new TrueInt(BranchEvents.getAsInt(supplier, BranchEvents.ELSE_IF));
+        }
+
+        @Override
+        public <X extends Throwable> IIntElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class FalseIntElseIf implements IIntElseIf {
+        private static final FalseIntElseIf INSTANCE = new FalseIntElseIf();
+
+        @Override
+        public IIntElse thenValue(final int value) {
+            return FalseInt.INSTANCE;
+        }
+
+        @Override
+        public IIntElse thenGet(final IntSupplier supplier) {
+            return FalseInt.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> IIntElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return FalseInt.INSTANCE;
+        }
+    }
+
+    static final class TrueLong implements ILongElse, ILongElseIf {
+        private final long value;
+
+        TrueLong(final long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long elseValue(final long value) {
+            return this.value;
+        }
+
+        @Override
+        public long elseGet(final LongSupplier supplier) {
+            return this.value;
+        }
+
+        @Override
+        public ILongElseIf elseIf(final boolean expression) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> long elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this.value;
+        }
+
+        @Override
+        public ILongElse thenValue(final long value) {
+            return this;
+        }
+
+        @Override
+        public ILongElse thenGet(final LongSupplier supplier) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> ILongElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this;
+        }
+    }
+
+    static final class FalseLong implements ILongElse {
+        static final FalseLong INSTANCE = new FalseLong();
+
+        private FalseLong() {
+        }
+
+        @Override
+        public long elseValue(final long value) {
+            return value;
+        }
+
+        @Override
+        public long elseGet(final LongSupplier supplier) {
+            return BranchEvents.getAsLong(supplier, BranchEvents.ELSE);
+        }
+
+        @Override
+        public ILongElseIf elseIf(final boolean expression) {
+            if (expression) {
+                return TrueLongElseIf.INSTANCE;
+            }
+
+            return FalseLongElseIf.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> long elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class TrueLongElseIf implements ILongElseIf {
+        private static final TrueLongElseIf INSTANCE = new TrueLongElseIf();
+
+        @Override
+        public ILongElse thenValue(final long value) {
+            return new TrueLong(value);
+        }
+
+        @Override
+        public ILongElse thenGet(final LongSupplier supplier) {
+            return new TrueLong(BranchEvents.getAsLong(supplier, BranchEvents.ELSE_IF));
+        }
+
+        @Override
+        public <X extends Throwable> ILongElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class FalseLongElseIf implements ILongElseIf {
+        private static final FalseLongElseIf INSTANCE = new FalseLongElseIf();
+
+        @Override
+        public ILongElse thenValue(final long value) {
+            return FalseLong.INSTANCE;
+        }
+
+        @Override
+        public ILongElse thenGet(final LongSupplier supplier) {
+            return FalseLong.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> ILongElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return FalseLong.INSTANCE;
+        }
+    }
+
+    static final class TrueDouble implements IDoubleElse, IDoubleElseIf {
+        private final double value;
+
+        TrueDouble(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double elseValue(final double value) {
+            return this.value;
+        }
+
+        @Override
+        public double elseGet(final DoubleSupplier supplier) {
+            return this.value;
+        }
+
+        @Override
+        public IDoubleElseIf elseIf(final boolean expression) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> double elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this.value;
+        }
+
+        @Override
+        public IDoubleElse thenValue(final double value) {
+            return this;
+        }
+
+        @Override
+        public IDoubleElse thenGet(final DoubleSupplier supplier) {
+            return this;
+        }
+
+        @Override
+        public <X extends Throwable> IDoubleElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return this;
+        }
+    }
+
+    static final class FalseDouble implements IDoubleElse {
+        static final FalseDouble INSTANCE = new FalseDouble();
+
+        private FalseDouble() {
+        }
+
+        @Override
+        public double elseValue(final double value) {
+            return value;
+        }
+
+        @Override
+        public double elseGet(final DoubleSupplier supplier) {
+            return BranchEvents.getAsDouble(supplier, BranchEvents.ELSE);
+        }
+
+        @Override
+        public IDoubleElseIf elseIf(final boolean expression) {
+            if (expression) {
+                return TrueDoubleElseIf.INSTANCE;
+            }
+
+            return FalseDoubleElseIf.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> double elseThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class TrueDoubleElseIf implements IDoubleElseIf {
+        private static final TrueDoubleElseIf INSTANCE = new TrueDoubleElseIf();
+
+        @Override
+        public IDoubleElse thenValue(final double value) {
+            return new TrueDouble(value);
+        }
+
+        @Override
+        public IDoubleElse thenGet(final DoubleSupplier supplier) {
+            return new TrueDouble(BranchEvents.getAsDouble(supplier, BranchEvents.ELSE_IF));
+        }
+
+        @Override
+        public <X extends Throwable> IDoubleElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            throw BranchStatistics.thrown(exceptionSupplier.get());
+        }
+    }
+
+    private static final class FalseDoubleElseIf implements IDoubleElseIf {
+        private static final FalseDoubleElseIf INSTANCE = new FalseDoubleElseIf();
+
+        @Override
+        public IDoubleElse thenValue(final double value) {
+            return FalseDouble.INSTANCE;
+        }
+
+        @Override
+        public IDoubleElse thenGet(final DoubleSupplier supplier) {
+            return FalseDouble.INSTANCE;
+        }
+
+        @Override
+        public <X extends Throwable> IDoubleElse thenThrow(final Supplier<? extends X> exceptionSupplier) throws X {
+            return FalseDouble.INSTANCE;
+        }
+    }
+}
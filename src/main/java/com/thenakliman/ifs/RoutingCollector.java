@@ -0,0 +1,198 @@
+package com.thenakliman.ifs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+// the container holds one downstream container per branch, every element is tested against
+// the predicates in order and accumulated into the first branch that accepts it
+final class RoutingCollector<T, R> implements Collector<T, Object[], R> {
+    private final Predicate<? super T>[] predicates;
+    private final Collector<? super T, Object, ?>[] downstreams;
+    // looked up once, a collector may build a new function on every call
+    private final BiConsumer<Object, ? super T>[] accumulators;
+    private final Function<Object[], R> finisher;
+    private final Set<Characteristics> characteristics;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private RoutingCollector(final Predicate<? super T>[] predicates,
+                             final Collector<? super T, Object, ?>[] downstreams,
+                             final Function<Object[], R> finisher) {
+        this.predicates = predicates;
+        this.downstreams = downstreams;
+        this.accumulators = new BiConsumer[downstreams.length];
+        for (int i = 0; i < downstreams.length; i++) {
+            this.accumulators[i] = downstreams[i].accumulator();
+        }
+
+        this.finisher = finisher;
+        this.characteristics = characteristics(downstreams);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T, P, Q, R> Collector<T, ?, R> partitioning(final Predicate<? super T> predicate,
+                                                        final Collector<? super T, ?, P> thenCollector,
+                                                        final Collector<? super T, ?, Q> elseCollector,
+                                                        final BiFunction<? super P, ? super Q, ? extends R> merger) {
+        return new RoutingCollector<>(
+                new Predicate[]{predicate},
+                new Collector[]{thenCollector, elseCollector},
+                results -> merger.apply((P) results[0], (Q) results[1]));
+    }
+
+    // a downstream is only safe to share between threads when every downstream is
+    private static Set<Characteristics> characteristics(final Collector<?, ?, ?>[] downstreams) {
+        final Set<Characteristics> characteristics = EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED);
+        for (final Collector<?, ?, ?> downstream : downstreams) {
+            characteristics.retainAll(downstream.characteristics());
+        }
+
+        return Collections.unmodifiableSet(characteristics);
+    }
+
+    @Override
+    public Supplier<Object[]> supplier() {
+        return () -> {
+            final Object[] containers = new Object[downstreams.length];
+            for (int i = 0; i < downstreams.length; i++) {
+                containers[i] = downstreams[i].supplier().get();
+            }
+
+            return containers;
+        };
+    }
+
+    @Override
+    public BiConsumer<Object[], T> accumulator() {
+        return (containers, element) -> {
+            for (int i = 0; i < predicates.length; i++) {
+                if (predicates[i].test(element)) {
+                    accumulators[i].accept(containers[i], element);
+                    return;
+                }
+            }
+
+            accumulators[predicates.length].accept(containers[predicates.length], element);
+        };
+    }
+
+    @Override
+    public BinaryOperator<Object[]> combiner() {
+        return (left, right) -> {
+            for (int i = 0; i < downstreams.length; i++) {
+                left[i] = downstreams[i].combiner().apply(left[i], right[i]);
+            }
+
+            return left;
+        };
+    }
+
+    @Override
+    public Function<Object[], R> finisher() {
+        return containers -> {
+            final Object[] results = new Object[downstreams.length];
+            for (int i = 0; i < downstreams.length; i++) {
+                results[i] = downstreams[i].finisher().apply(containers[i]);
+            }
+
+            return finisher.apply(results);
+        };
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return characteristics;
+    }
+
+    public static final class Partition<P, Q> {
+        private final P thenResult;
+        private final Q elseResult;
+
+        Partition(final P thenResult, final Q elseResult) {
+            this.thenResult = thenResult;
+            this.elseResult = elseResult;
+        }
+
+        public P getThen() {
+            return thenResult;
+        }
+
+        public Q getElse() {
+            return elseResult;
+        }
+
+        @Override
+        public String toString() {
+            return "Partition{then=" + thenResult + ", else=" + elseResult + "}";
+        }
+    }
+
+    interface IThen<T> {
+        <D> IElse<T, D> thenCollect(final Collector<? super T, ?, D> collector);
+    }
+
+    interface IElseIf<T, D> {
+        IElse<T, D> thenCollect(final Collector<? super T, ?, D> collector);
+    }
+
+    interface IElse<T, D> {
+        IElseIf<T, D> elseIf(final Predicate<? super T> predicate);
+
+        // results in branch order, then, every elseIf, else
+        Collector<T, ?, List<D>> elseCollect(final Collector<? super T, ?, D> collector);
+    }
+
+    static final class Then<T> implements IThen<T> {
+        private final Predicate<? super T> predicate;
+
+        Then(final Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <D> IElse<T, D> thenCollect(final Collector<? super T, ?, D> collector) {
+            return new Builder<T, D>(this.predicate).thenCollect(collector);
+        }
+    }
+
+    private static final class Builder<T, D> implements IElseIf<T, D>, IElse<T, D> {
+        private final List<Predicate<? super T>> predicates = new ArrayList<>();
+        private final List<Collector<? super T, ?, D>> downstreams = new ArrayList<>();
+
+        Builder(final Predicate<? super T> predicate) {
+            this.predicates.add(predicate);
+        }
+
+        @Override
+        public IElse<T, D> thenCollect(final Collector<? super T, ?, D> collector) {
+            this.downstreams.add(collector);
+            return this;
+        }
+
+        @Override
+        public IElseIf<T, D> elseIf(final Predicate<? super T> predicate) {
+            this.predicates.add(predicate);
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Collector<T, ?, List<D>> elseCollect(final Collector<? super T, ?, D> collector) {
+            this.downstreams.add(collector);
+            return new RoutingCollector<>(
+                    this.predicates.toArray(new Predicate[0]),
+                    this.downstreams.toArray(new Collector[0]),
+                    results -> (List<D>) Collections.unmodifiableList(Arrays.asList(results)));
+        }
+    }
+}
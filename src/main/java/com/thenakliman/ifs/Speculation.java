@@ -0,0 +1,97 @@
+package com.thenakliman.ifs;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+// both branches start on the executor before the condition is evaluated on the calling thread, so the
+// condition and the branches overlap; the branch that lost is cancelled with an interrupt.
+// Only side effect free branches may be speculated, the loser may run partly or to completion, and a branch that
+// ignores interrupts keeps its executor thread busy until it finishes on its own
+final class Speculation {
+    private Speculation() {
+        // Not allowed to create instance
+    }
+
+    // a caller on a fork join worker gets a compensating thread while it waits, so branches queued on the
+    // same pool still find a thread to run on
+    private static final class Waiter implements ForkJoinPool.ManagedBlocker {
+        private final FutureTask<?> winner;
+
+        private Waiter(final FutureTask<?> winner) {
+            this.winner = winner;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                winner.get();
+            } catch (final ExecutionException | CancellationException exception) {
+                // reported by await once the wait is over
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return winner.isDone();
+        }
+    }
+
+    static <T> T orElse(final BooleanSupplier condition,
+                        final Supplier<? extends T> thenSupplier,
+                        final Supplier<? extends T> elseSupplier,
+                        final Executor executor) {
+        final FutureTask<T> thenTask = new FutureTask<>(thenSupplier::get);
+        final FutureTask<T> elseTask = new FutureTask<>(elseSupplier::get);
+
+        final boolean expression;
+        try {
+            // a rejected submission cancels the branch already started, cancelling one never submitted is harmless
+            executor.execute(thenTask);
+            executor.execute(elseTask);
+            expression = BranchStatistics.record(condition.getAsBoolean());
+        } catch (final RuntimeException | Error exception) {
+            thenTask.cancel(true);
+            elseTask.cancel(true);
+            throw exception;
+        }
+
+        final FutureTask<T> winner = expression ? thenTask : elseTask;
+        (expression ? elseTask : thenTask).cancel(true);
+        return await(winner);
+    }
+
+    private static <T> T await(final FutureTask<T> winner) {
+        try {
+            ForkJoinPool.managedBlock(new Waiter(winner));
+            return winner.get();
+        } catch (final ExecutionException exception) {
+            throw unchecked(exception.getCause());
+        } catch (final InterruptedException exception) {
+            winner.cancel(true);
+            throw interrupted(exception);
+        }
+    }
+
+    // suppliers cannot throw checked exceptions, anything else is wrapped
+    static RuntimeException unchecked(final Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+
+    static CancellationException interrupted(final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        final CancellationException cancellation = new CancellationException("Interrupted waiting for a result");
+        cancellation.initCause(exception);
+        return cancellation;
+    }
+}
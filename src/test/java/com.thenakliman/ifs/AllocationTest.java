@@ -0,0 +1,155 @@
+package com.thenakliman.ifs;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class AllocationTest {
+    private static final int WARM_UP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final Integer THEN_VALUE = 160;
+    private static final Integer ELSE_VALUE = 40;
+    private static final IfExpression.Callable DO_NOTHING = () -> {
+    };
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private Object sink;
+    private long primitiveSink;
+
+    private interface Chain {
+        void evaluate(final boolean expression);
+    }
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void isTrue_thenCallElseCall_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isTrue(expression)
+                .thenCall(DO_NOTHING)
+                .elseCall(DO_NOTHING));
+    }
+
+    @Test
+    public void isTrue_thenCallElseIfThenCallElseDoNothing_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isTrue(expression)
+                .thenCall(DO_NOTHING)
+                .elseIf(!expression)
+                .thenCall(DO_NOTHING)
+                .elseDoNothing());
+    }
+
+    @Test
+    public void isFalse_thenCallElseThrow_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isFalse(false)
+                .thenCall(DO_NOTHING)
+                .elseThrow(IllegalStateException::new));
+    }
+
+    @Test
+    public void isTrue_thenThrowElseValue_doesNotAllocate_whenExpressionIsFalse() {
+        assertAllocationFree(expression -> sink = If.isTrue(false)
+                .thenThrow(IllegalStateException::new)
+                .elseValue(ELSE_VALUE));
+    }
+
+    @Test
+    public void isTrue_thenThrowElseIfThenCallElseCall_doesNotAllocate_whenExpressionIsFalse() {
+        assertAllocationFree(expression -> If.isTrue(false)
+                .thenThrow(IllegalStateException::new)
+                .elseIf(expression)
+                .thenCall(DO_NOTHING)
+                .elseCall(DO_NOTHING));
+    }
+
+    @Test
+    public void isTrue_thenGetElseIfThenValueElseValue_doesNotAllocate_whenExpressionsAreFalse() {
+        assertAllocationFree(expression -> sink = If.isTrue(false)
+                .thenGet(() -> THEN_VALUE)
+                .elseIf(false)
+                .thenValue(THEN_VALUE)
+                .elseValue(ELSE_VALUE));
+    }
+
+    @Test
+    public void isTrue_thenIntElseGet_doesNotAllocate_whenExpressionIsFalse() {
+        assertAllocationFree(expression -> primitiveSink = If.isTrue(false)
+                .thenInt(160)
+                .elseGet(() -> 40));
+    }
+
+    @Test
+    public void isTrueThen_thenCall_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isTrueThen(expression).thenCall(DO_NOTHING));
+    }
+
+    @Test
+    public void isFalseThen_thenThrow_doesNotAllocate_whenExpressionIsTrue() {
+        assertAllocationFree(expression -> If.isFalseThen(true).thenThrow(IllegalStateException::new));
+    }
+
+    @Test
+    public void isTrueThen_booleanSupplierThenCall_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isTrueThen(() -> true).thenCall(DO_NOTHING));
+    }
+
+    @Test
+    public void isNullThen_doesNotAllocate() {
+        assertAllocationFree(expression -> If.isNullThen(expression ? null : THEN_VALUE, DO_NOTHING));
+    }
+
+    @Test
+    public void orElse_intThenValueElseValue_doesNotAllocate() {
+        assertAllocationFree(expression -> primitiveSink = If.orElse(expression, 160, 40));
+    }
+
+    @Test
+    public void orElse_doubleThenValueElseValue_doesNotAllocate() {
+        assertAllocationFree(expression -> primitiveSink += (long) If.orElse(expression, 1.5, 2.5));
+    }
+
+    @Test
+    public void orElse_thenGetElseGet_doesNotAllocate() {
+        assertAllocationFree(expression -> sink = If.orElse(expression, () -> THEN_VALUE, () -> ELSE_VALUE));
+    }
+
+    @Test
+    public void orElse_thenCallElseCall_doesNotAllocate() {
+        assertAllocationFree(expression -> If.orElse(expression, DO_NOTHING, DO_NOTHING));
+    }
+
+    @Test
+    public void nullOrElse_thenGetElseGet_doesNotAllocate() {
+        assertAllocationFree(expression -> sink = If.nullOrElse(
+                expression ? null : THEN_VALUE,
+                () -> THEN_VALUE,
+                () -> ELSE_VALUE));
+    }
+
+    private void assertAllocationFree(final Chain chain) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            chain.evaluate((i & 1) == 0);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            chain.evaluate((i & 1) == 0);
+        }
+
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        // the smallest object is 16 bytes, anything allocated per call shows up here,
+        // while the few bytes taken by the measurement itself are divided away
+        assertThat(allocated / ITERATIONS, is(0L));
+    }
+}
@@ -0,0 +1,162 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ArraySelectTest {
+    // longer than any vector and not a multiple of one, so both the vector loop and the tail run
+    private static final int LENGTH = 67;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void select_intMask_takeThenValue_whereMaskIsTrue() {
+        final boolean[] mask = mask();
+        final int[] out = new int[LENGTH];
+
+        If.select(mask, filled(LENGTH, 1), filled(LENGTH, 2), out);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(out[i], is(mask[i] ? 1 : 2));
+        }
+    }
+
+    @Test
+    public void select_longMask_takeThenValue_whereMaskIsTrue() {
+        final boolean[] mask = mask();
+        final long[] thenValues = new long[LENGTH];
+        final long[] elseValues = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            thenValues[i] = Long.MAX_VALUE - i;
+            elseValues[i] = i;
+        }
+        final long[] out = new long[LENGTH];
+
+        If.select(mask, thenValues, elseValues, out);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(out[i], is(mask[i] ? Long.MAX_VALUE - i : i));
+        }
+    }
+
+    @Test
+    public void select_floatMask_takeThenValue_whereMaskIsTrue() {
+        final boolean[] mask = mask();
+        final float[] thenValues = new float[LENGTH];
+        final float[] elseValues = new float[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            thenValues[i] = i + 0.5f;
+            elseValues[i] = -i;
+        }
+        final float[] out = new float[LENGTH];
+
+        If.select(mask, thenValues, elseValues, out);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(out[i], is(mask[i] ? i + 0.5f : (float) -i));
+        }
+    }
+
+    @Test
+    public void select_doubleMask_takeThenValue_whereMaskIsTrue() {
+        final boolean[] mask = mask();
+        final double[] thenValues = new double[LENGTH];
+        final double[] elseValues = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            thenValues[i] = i * 1.5;
+            elseValues[i] = -i * 1.5;
+        }
+        final double[] out = new double[LENGTH];
+
+        If.select(mask, thenValues, elseValues, out);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(out[i], is(mask[i] ? i * 1.5 : -i * 1.5));
+        }
+    }
+
+    @Test
+    public void select_intPredicate_takeThenValue_wherePredicateIsTrue() {
+        final int[] values = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = i;
+        }
+        final int[] out = new int[LENGTH];
+
+        If.select(values, value -> value % 3 == 0, filled(LENGTH, 1), values, out);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(out[i], is(i % 3 == 0 ? 1 : i));
+        }
+    }
+
+    @Test
+    public void select_doublePredicate_takeThenValue_wherePredicateIsTrue() {
+        final double[] values = {-1.0, 0.0, 2.5, Double.NaN};
+        final double[] out = new double[values.length];
+
+        If.select(values, value -> value > 0, new double[]{1, 1, 1, 1}, new double[]{0, 0, 0, 0}, out);
+
+        assertThat(out[0], is(0.0));
+        assertThat(out[1], is(0.0));
+        assertThat(out[2], is(1.0));
+        assertThat(out[3], is(0.0));
+    }
+
+    @Test
+    public void select_intMask_writeIntoThenArray_whenOutIsThenArray() {
+        final boolean[] mask = {true, false, true};
+        final int[] values = {1, 2, 3};
+
+        If.select(mask, values, new int[]{7, 8, 9}, values);
+
+        assertThat(values[0], is(1));
+        assertThat(values[1], is(8));
+        assertThat(values[2], is(3));
+    }
+
+    @Test
+    public void select_intMask_throwIllegalArgumentException_whenLengthsDiffer() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.select(new boolean[2], new int[3], new int[3], new int[3]);
+    }
+
+    @Test
+    public void scalar_select_matchLoadedImplementation_whenMaskIsRandom() {
+        final boolean[] mask = mask();
+        final int[] thenValues = filled(LENGTH, 3);
+        final int[] elseValues = filled(LENGTH, 4);
+        final int[] expected = new int[LENGTH];
+        final int[] actual = new int[LENGTH];
+
+        ArraySelect.Scalar.INSTANCE.select(mask, thenValues, elseValues, expected);
+        ArraySelect.SELECT.select(mask, thenValues, elseValues, actual);
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(actual[i], is(expected[i]));
+        }
+    }
+
+    private static boolean[] mask() {
+        final boolean[] mask = new boolean[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            mask[i] = Integer.bitCount(i * 31) % 2 == 0;
+        }
+
+        return mask;
+    }
+
+    private static int[] filled(final int length, final int value) {
+        final int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = value;
+        }
+
+        return values;
+    }
+}
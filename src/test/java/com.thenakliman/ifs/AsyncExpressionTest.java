@@ -0,0 +1,262 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.*;
+
+public class AsyncExpressionTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void isTrueAsync_thenValueElseValue_returnThenValue_whenConditionCompletesTrue() throws Exception {
+        final CompletionStage<String> result = If.isTrueAsync(CompletableFuture.completedFuture(true))
+                .thenValue("then")
+                .elseValue("else");
+
+        assertThat(result.toCompletableFuture().get(), is("then"));
+    }
+
+    @Test
+    public void isTrueAsync_thenGetElseGet_notCallAnySupplier_whenConditionIsNotComplete() throws Exception {
+        final CompletableFuture<Boolean> condition = new CompletableFuture<>();
+        when(testHelper.elseGet()).thenReturn(30);
+
+        final CompletionStage<Integer> result = If.isTrueAsync(condition)
+                .thenGet(testHelper::thenGet1)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(result.toCompletableFuture().isDone(), is(false));
+        verify(testHelper, times(0)).elseGet();
+
+        condition.complete(false);
+
+        assertThat(result.toCompletableFuture().get(), is(30));
+        verify(testHelper, times(0)).thenGet1();
+    }
+
+    @Test
+    public void isTrueAsync_thenGetAsyncElseGetAsync_composeThenStage_whenConditionCompletesTrue() throws Exception {
+        final CompletableFuture<Integer> thenStage = new CompletableFuture<>();
+
+        final CompletionStage<Integer> result = If.isTrueAsync(CompletableFuture.completedFuture(true))
+                .thenGetAsync(() -> thenStage)
+                .elseGetAsync(() -> CompletableFuture.completedFuture(2));
+
+        assertThat(result.toCompletableFuture().isDone(), is(false));
+        thenStage.complete(1);
+        assertThat(result.toCompletableFuture().get(), is(1));
+    }
+
+    @Test
+    public void isTrueAsync_elseIfAsync_returnElseIfValue_whenOnlyElseIfConditionIsTrue() throws Exception {
+        final CompletionStage<String> result = If.isTrueAsync(CompletableFuture.completedFuture(false))
+                .thenValue("first")
+                .elseIfAsync(() -> CompletableFuture.completedFuture(false))
+                .thenValue("second")
+                .elseIfAsync(() -> CompletableFuture.completedFuture(true))
+                .thenValue("third")
+                .elseValue("else");
+
+        assertThat(result.toCompletableFuture().get(), is("third"));
+    }
+
+    @Test
+    public void isTrueAsync_elseIfAsync_notStartElseIfCondition_whenConditionIsTrue() throws Exception {
+        when(testHelper.thenGet1()).thenReturn(10);
+
+        final CompletionStage<Integer> result = If.isTrueAsync(CompletableFuture.completedFuture(true))
+                .thenGet(testHelper::thenGet1)
+                .elseIfAsync(() -> {
+                    throw new AssertionError("elseIf condition must not start");
+                })
+                .thenGet(testHelper::thenGet2)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(result.toCompletableFuture().get(), is(10));
+    }
+
+    @Test
+    public void isTrueAsync_thenThrow_completeExceptionally_whenConditionCompletesTrue() throws Exception {
+        final CompletionStage<String> result = If.isTrueAsync(CompletableFuture.completedFuture(true))
+                .<String>thenThrow(() -> new IllegalStateException("async failure"))
+                .elseValue("else");
+
+        expectedException.expect(ExecutionException.class);
+        expectedException.expectCause(instanceOf(IllegalStateException.class));
+
+        result.toCompletableFuture().get();
+    }
+
+    @Test
+    public void isTrueAsync_elseThrow_completeExceptionally_whenAllConditionsAreFalse() throws Exception {
+        final CompletionStage<String> result = If.isTrueAsync(CompletableFuture.completedFuture(false))
+                .thenValue("then")
+                .elseThrow(() -> new IllegalArgumentException("no branch"));
+
+        expectedException.expect(ExecutionException.class);
+        expectedException.expectCause(instanceOf(IllegalArgumentException.class));
+
+        result.toCompletableFuture().get();
+    }
+
+    @Test
+    public void isNullAsync_thenValueElseMap_returnThenValue_whenValueCompletesWithNull() throws Exception {
+        final CompletionStage<Integer> result = If.isNullAsync(CompletableFuture.<String>completedFuture(null))
+                .thenValue(0)
+                .elseMap(String::length);
+
+        assertThat(result.toCompletableFuture().get(), is(0));
+    }
+
+    @Test
+    public void isNullAsync_thenGetElseMap_mapValue_whenValueCompletesWithNonNull() throws Exception {
+        final CompletableFuture<String> value = new CompletableFuture<>();
+
+        final CompletionStage<Integer> result = If.isNullAsync(value)
+                .thenGet(testHelper::thenGet1)
+                .elseMap(String::length);
+
+        assertThat(result.toCompletableFuture().isDone(), is(false));
+        value.complete("four");
+
+        assertThat(result.toCompletableFuture().get(), is(4));
+        verify(testHelper, times(0)).thenGet1();
+    }
+
+    @Test
+    public void isNullAsync_thenGetAsyncElseMapAsync_composeElseStage_whenValueIsNonNull() throws Exception {
+        final CompletionStage<String> result = If.isNullAsync(CompletableFuture.completedFuture(7))
+                .thenGetAsync(() -> CompletableFuture.completedFuture("none"))
+                .elseMapAsync(number -> CompletableFuture.completedFuture("number " + number));
+
+        assertThat(result.toCompletableFuture().get(), is("number 7"));
+    }
+
+    @Test
+    public void isNullAsync_elseThrow_completeExceptionally_whenValueIsNonNull() throws Exception {
+        final CompletionStage<String> result = If.isNullAsync(CompletableFuture.completedFuture(7))
+                .thenValue("none")
+                .elseThrow(() -> new IllegalStateException("present"));
+
+        expectedException.expect(ExecutionException.class);
+        expectedException.expectCause(instanceOf(IllegalStateException.class));
+
+        result.toCompletableFuture().get();
+    }
+
+    @Test
+    public void isTrueAsync_thenGetElseGet_runSupplierOnExecutor_whenExecutorIsGiven() throws Exception {
+        final AtomicInteger executed = new AtomicInteger();
+        final ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "branch"));
+        final Executor executor = command -> {
+            executed.incrementAndGet();
+            pool.execute(command);
+        };
+
+        try {
+            final CompletionStage<String> result = If.isTrueAsync(CompletableFuture.completedFuture(false), executor)
+                    .thenGet(() -> "then")
+                    .elseGet(() -> Thread.currentThread().getName());
+
+            assertThat(result.toCompletableFuture().get(), is("branch"));
+            assertThat(executed.get(), is(1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void isNullAsync_elseMap_runFunctionOnExecutor_whenExecutorIsGiven() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "lookup"));
+
+        try {
+            final CompletionStage<String> result = If.isNullAsync(CompletableFuture.completedFuture("id"), executor)
+                    .thenValue("none")
+                    .elseMap(id -> id + "@" + Thread.currentThread().getName());
+
+            assertThat(result.toCompletableFuture().get(), is("id@lookup"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void newBlockingBranchExecutor_runBlockingSuppliers_whenManyChainsAreStarted() throws Exception {
+        final ExecutorService executor = If.newBlockingBranchExecutor();
+        final CompletableFuture<?>[] results = new CompletableFuture<?>[100];
+
+        try {
+            for (int i = 0; i < results.length; i++) {
+                final int number = i;
+                results[i] = If.isTrueAsync(CompletableFuture.completedFuture(number % 2 == 0), executor)
+                        .thenGet(() -> sleepThenReturn(number))
+                        .elseValue(-1)
+                        .toCompletableFuture();
+            }
+
+            CompletableFuture.allOf(results).get();
+            assertThat(results[4].get(), is(4));
+            assertThat(results[5].get(), is(-1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void newVirtualThreadExecutor_throwUnsupportedOperationException_whenVirtualThreadsAreUnavailable() {
+        assumeFalse(BranchExecutors.isVirtualThreadAvailable());
+
+        expectedException.expect(UnsupportedOperationException.class);
+        If.newVirtualThreadExecutor();
+    }
+
+    @Test
+    public void newVirtualThreadExecutor_runOnVirtualThread_whenVirtualThreadsAreAvailable() throws Exception {
+        assumeTrue(BranchExecutors.isVirtualThreadAvailable());
+        final ExecutorService executor = If.newVirtualThreadExecutor();
+
+        try {
+            final String threadClass = executor.submit(() -> Thread.currentThread().getClass().getName()).get();
+            assertThat(threadClass, is("java.lang.VirtualThread"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void isVirtualThreadAvailable_matchRuntime_whenExecutorsIsInspected() {
+        final boolean available = Arrays.stream(Executors.class.getMethods())
+                .anyMatch(method -> method.getName().equals("newVirtualThreadPerTaskExecutor"));
+
+        assertThat(BranchExecutors.isVirtualThreadAvailable(), is(available));
+    }
+
+    private static int sleepThenReturn(final int number) {
+        try {
+            Thread.sleep(10);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return number;
+    }
+}
@@ -0,0 +1,135 @@
+package com.thenakliman.ifs;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BranchEventsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Recording recording;
+
+    @Before
+    public void setUp() {
+        recording = new Recording();
+        recording.enable(BranchEvents.SUPPLIER_EVENT).withThreshold(Duration.ofMillis(5));
+        recording.enable(BranchEvents.CALLABLE_EVENT).withThreshold(Duration.ofMillis(5));
+        recording.start();
+    }
+
+    @After
+    public void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    public void isTrue_thenGetElseGet_emitSupplierEvent_whenElseSupplierIsSlow() throws Exception {
+        If.isTrue(false)
+                .thenGet(() -> 1)
+                .elseGet(() -> sleep(20));
+
+        final List<RecordedEvent> events = events(BranchEvents.SUPPLIER_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.ELSE));
+        assertThat(events.get(0).getString("callSite").startsWith(BranchEventsTest.class.getName()), is(true));
+    }
+
+    @Test
+    public void isTrue_thenCallElseCall_emitCallableEvent_whenThenCallableIsSlow() throws Exception {
+        If.isTrue(true)
+                .thenCall(() -> sleep(20))
+                .elseCall(() -> sleep(20));
+
+        final List<RecordedEvent> events = events(BranchEvents.CALLABLE_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.THEN));
+    }
+
+    @Test
+    public void isNull_thenValueElseMap_emitSupplierEvent_whenElseMapIsSlow() throws Exception {
+        If.isNull("value")
+                .thenValue(0)
+                .elseMap(value -> sleep(20));
+
+        final List<RecordedEvent> events = events(BranchEvents.SUPPLIER_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.ELSE));
+    }
+
+    @Test
+    public void isTrue_thenIntElseValue_emitSupplierEvent_whenThenIntSupplierIsSlow() throws Exception {
+        If.isTrue(true)
+                .thenInt(() -> sleep(20))
+                .elseValue(0);
+
+        final List<RecordedEvent> events = events(BranchEvents.SUPPLIER_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.THEN));
+        assertThat(events.get(0).getString("callSite").startsWith(BranchEventsTest.class.getName()), is(true));
+    }
+
+    @Test
+    public void isTrue_thenDoubleElseGet_emitSupplierEvent_whenElseDoubleSupplierIsSlow() throws Exception {
+        If.isTrue(false)
+                .thenDouble(1.0)
+                .elseGet(() -> sleep(20));
+
+        final List<RecordedEvent> events = events(BranchEvents.SUPPLIER_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.ELSE));
+    }
+
+    @Test
+    public void isTrue_thenLongElseIfThenGet_emitSupplierEvent_whenElseIfLongSupplierIsSlow() throws Exception {
+        If.isTrue(false)
+                .thenLong(1L)
+                .elseIf(true)
+                .thenGet(() -> sleep(20))
+                .elseValue(0L);
+
+        final List<RecordedEvent> events = events(BranchEvents.SUPPLIER_EVENT);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getString("branch"), is(BranchEvents.ELSE_IF));
+    }
+
+    @Test
+    public void isTrue_thenGetElseGet_doNotEmitEvent_whenSupplierIsBelowThreshold() throws Exception {
+        If.isTrue(true)
+                .thenGet(() -> 1)
+                .elseGet(() -> 2);
+
+        assertThat(events(BranchEvents.SUPPLIER_EVENT).isEmpty(), is(true));
+    }
+
+    private List<RecordedEvent> events(final String name) throws Exception {
+        recording.stop();
+        final Path file = temporaryFolder.newFile("recording.jfr").toPath();
+        recording.dump(file);
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        events.removeIf(event -> !event.getEventType().getName().equals(name));
+        return events;
+    }
+
+    private static int sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.thenakliman.ifs;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BranchStatisticsTest {
+    private final BranchStatistics statistics = new BranchStatistics();
+
+    @Test
+    public void branch_countThenAndElse_whenRecordedFromOneCallSite() {
+        for (int i = 0; i < 5; i++) {
+            statistics.branch(i < 3);
+        }
+
+        final List<CallSiteStatistics> callSites = statistics.getCallSites();
+        assertThat(callSites.size(), is(1));
+        assertThat(callSites.get(0).getThenCount(), is(3L));
+        assertThat(callSites.get(0).getElseCount(), is(2L));
+        assertThat(callSites.get(0).getThrowCount(), is(0L));
+    }
+
+    @Test
+    public void branch_useCallerAsCallSite_whenRecorded() {
+        statistics.branch(true);
+
+        final String callSite = statistics.getCallSites().get(0).getCallSite();
+        assertThat(callSite.startsWith(BranchStatisticsTest.class.getName() + ".branch_useCallerAsCallSite_whenRecorded("),
+                is(true));
+    }
+
+    @Test
+    public void branch_keepCallSitesApart_whenRecordedFromDifferentLines() {
+        statistics.branch(true);
+        statistics.branch(false);
+
+        assertThat(statistics.getCallSites().size(), is(2));
+    }
+
+    @Test
+    public void thrown_countThrow_whenRecorded() {
+        statistics.thrown();
+
+        assertThat(statistics.getCallSites().get(0).getThrowCount(), is(1L));
+    }
+
+    @Test
+    public void reset_removeCallSites_whenCalled() {
+        statistics.branch(true);
+
+        statistics.reset();
+
+        assertThat(statistics.getCallSites().isEmpty(), is(true));
+    }
+
+    @Test
+    public void thrown_returnGivenException_whenStatisticsAreDisabled() {
+        final IllegalStateException exception = new IllegalStateException();
+
+        assertThat(BranchStatistics.thrown(exception), is(exception));
+        assertThat(BranchStatistics.record(true), is(true));
+    }
+
+    @Test
+    public void register_publishCallSitesAsOpenData_whenRegisteredWithMBeanServer() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        BranchStatistics.register(server, statistics);
+        statistics.branch(false);
+
+        final CompositeData[] callSites = (CompositeData[]) server.getAttribute(
+                new ObjectName(BranchStatistics.OBJECT_NAME), "CallSites");
+
+        assertThat(callSites.length, is(1));
+        assertThat(callSites[0].get("elseCount"), is(1L));
+        assertThat(callSites[0].get("thenCount"), is(0L));
+    }
+
+    @Test
+    public void register_keepFirstBean_whenAlreadyRegistered() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        BranchStatistics.register(server, statistics);
+        final BranchStatistics other = new BranchStatistics();
+
+        assertThat(BranchStatistics.register(server, other), is(other));
+
+        statistics.branch(true);
+        final CompositeData[] callSites = (CompositeData[]) server.getAttribute(
+                new ObjectName(BranchStatistics.OBJECT_NAME), "CallSites");
+        assertThat(callSites.length, is(1));
+    }
+}
@@ -0,0 +1,40 @@
+package com.thenakliman.ifs;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BranchlessTest {
+    @Test
+    public void select_returnThenValue_whenIntExpressionIsTrue() {
+        assertThat(Branchless.select(true, Integer.MIN_VALUE, Integer.MAX_VALUE), is(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void select_returnElseValue_whenIntExpressionIsFalse() {
+        assertThat(Branchless.select(false, Integer.MIN_VALUE, Integer.MAX_VALUE), is(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void select_returnThenValue_whenLongExpressionIsTrue() {
+        assertThat(Branchless.select(true, -1L, 0L), is(-1L));
+    }
+
+    @Test
+    public void select_returnElseValue_whenLongExpressionIsFalse() {
+        assertThat(Branchless.select(false, -1L, 0L), is(0L));
+    }
+
+    @Test
+    public void select_keepSignOfZero_whenDoubleExpressionIsTrue() {
+        final double value = Branchless.select(true, -0.0, 0.0);
+
+        assertThat(Double.doubleToRawLongBits(value), is(Double.doubleToRawLongBits(-0.0)));
+    }
+
+    @Test
+    public void select_returnElseValue_whenDoubleExpressionIsFalse() {
+        assertThat(Branchless.select(false, 1.5, Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+    }
+}
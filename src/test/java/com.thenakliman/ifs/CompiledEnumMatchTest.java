@@ -0,0 +1,112 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CompiledEnumMatchTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    private enum Status {
+        ACTIVE,
+        SUSPENDED,
+        CLOSED
+    }
+
+    @Test
+    public void compileMatchEnum_whenValueBuild_returnBranchOfEveryConstant_whenAllConstantsAreCovered() {
+        final Function<Status, String> function = If.<Status, String>compileMatchEnum(Status.class)
+                .whenValue(Status.ACTIVE, "active")
+                .whenValue(Status.SUSPENDED, "suspended")
+                .whenValue(Status.CLOSED, "closed")
+                .build();
+
+        assertThat(function.apply(Status.ACTIVE), is("active"));
+        assertThat(function.apply(Status.SUSPENDED), is("suspended"));
+        assertThat(function.apply(Status.CLOSED), is("closed"));
+    }
+
+    @Test
+    public void compileMatchEnum_build_throwIllegalStateException_whenConstantIsNotCovered() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("[SUSPENDED, CLOSED]");
+        If.<Status, String>compileMatchEnum(Status.class)
+                .whenValue(Status.ACTIVE, "active")
+                .build();
+    }
+
+    @Test
+    public void compileMatchEnum_whenValueElseValue_returnElseValue_whenConstantIsNotCovered() {
+        final Function<Status, String> function = If.<Status, String>compileMatchEnum(Status.class)
+                .whenValue(Status.ACTIVE, "active")
+                .elseValue("inactive")
+                .build();
+
+        assertThat(function.apply(Status.ACTIVE), is("active"));
+        assertThat(function.apply(Status.CLOSED), is("inactive"));
+    }
+
+    @Test
+    public void compileMatchEnum_whenGetElseGet_callOnlyMatchingSupplier_whenEvaluated() {
+        when(testHelper.thenGet2()).thenReturn(20);
+        final Function<Status, Integer> function = If.<Status, Integer>compileMatchEnum(Status.class)
+                .whenGet(Status.ACTIVE, testHelper::thenGet1)
+                .whenGet(Status.SUSPENDED, testHelper::thenGet2)
+                .elseGet(testHelper::elseGet)
+                .build();
+
+        assertThat(function.apply(Status.SUSPENDED), is(20));
+        verify(testHelper, times(0)).thenGet1();
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void compileMatchEnum_whenApply_applyBranchToKey_whenEvaluated() {
+        final Function<Status, String> function = If.<Status, String>compileMatchEnum(Status.class)
+                .whenApply(Status.ACTIVE, status -> status.name().toLowerCase())
+                .elseApply(Status::name)
+                .build();
+
+        assertThat(function.apply(Status.ACTIVE), is("active"));
+        assertThat(function.apply(Status.CLOSED), is("CLOSED"));
+    }
+
+    @Test
+    public void compileMatchEnum_whenThrow_throwException_whenKeyMatches() {
+        final Function<Status, String> function = If.<Status, String>compileMatchEnum(Status.class)
+                .whenThrow(Status.CLOSED, IllegalArgumentException::new)
+                .elseValue("open")
+                .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+        function.apply(Status.CLOSED);
+    }
+
+    @Test
+    public void compileMatchEnum_elseThrow_throwException_whenConstantIsNotCovered() {
+        final Function<Status, String> function = If.<Status, String>compileMatchEnum(Status.class)
+                .whenValue(Status.ACTIVE, "active")
+                .elseThrow(IllegalStateException::new)
+                .build();
+
+        expectedException.expect(IllegalStateException.class);
+        function.apply(Status.SUSPENDED);
+    }
+
+    @Test
+    public void compileMatchEnum_whenValue_throwIllegalArgumentException_whenKeyIsRepeated() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.<Status, String>compileMatchEnum(Status.class)
+                .whenValue(Status.ACTIVE, "active")
+                .whenValue(Status.ACTIVE, "again");
+    }
+}
@@ -0,0 +1,335 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CompiledExpressionTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void compile_thenValueElseValue_returnThenValue_whenPredicateIsTrue() {
+        final Function<Integer, String> function = If.<Integer>compile(number -> number > 10)
+                .thenValue("large")
+                .elseValue("small")
+                .build();
+
+        assertThat(function.apply(11), is("large"));
+    }
+
+    @Test
+    public void compile_thenValueElseValue_returnElseValue_whenPredicateIsFalse() {
+        final Function<Integer, String> function = If.<Integer>compile(number -> number > 10)
+                .thenValue("large")
+                .elseValue("small")
+                .build();
+
+        assertThat(function.apply(10), is("small"));
+    }
+
+    @Test
+    public void compile_thenApplyElseApply_applyMatchingBranchToInput_whenEvaluatedManyTimes() {
+        final Function<Integer, Integer> function = If.<Integer>compile(number -> number % 2 == 0)
+                .thenApply(number -> number / 2)
+                .elseApply(number -> number * 3 + 1)
+                .build();
+
+        assertThat(function.apply(6), is(3));
+        assertThat(function.apply(3), is(10));
+        assertThat(function.apply(10), is(5));
+    }
+
+    @Test
+    public void compile_thenGetElseIfThenGetElseGet_returnElseIfThenGetValue_whenOnlyElseIfPredicateIsTrue() {
+        when(testHelper.thenGet2()).thenReturn(20);
+        final Function<Integer, Integer> function = If.<Integer>compile(number -> number < 0)
+                .thenGet(testHelper::thenGet1)
+                .elseIf(number -> number < 100)
+                .thenGet(testHelper::thenGet2)
+                .elseGet(testHelper::elseGet)
+                .build();
+
+        assertThat(function.apply(50), is(20));
+        verify(testHelper, times(0)).thenGet1();
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void compile_thenValueElseIfThenValueElseValue_returnFirstMatchingBranch_whenSeveralPredicatesAreTrue() {
+        final Function<Integer, String> function = If.<Integer>compile(number -> number < 10)
+                .thenValue("tens")
+                .elseIf(number -> number < 100)
+                .thenValue("hundreds")
+                .elseIf(number -> number < 1000)
+                .thenValue("thousands")
+                .elseValue("many")
+                .build();
+
+        assertThat(function.apply(5), is("tens"));
+        assertThat(function.apply(500), is("thousands"));
+        assertThat(function.apply(5000), is("many"));
+    }
+
+    @Test
+    public void compile_thenThrowElseApply_throwThenThrowException_whenPredicateIsTrue() {
+        final Function<String, Integer> function = If.<String>compile(String::isEmpty)
+                .<Integer>thenThrow(IllegalArgumentException::new)
+                .elseApply(String::length)
+                .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+        function.apply("");
+    }
+
+    @Test
+    public void compile_thenThrowElseApply_returnElseApplyValue_whenPredicateIsFalse() {
+        final Function<String, Integer> function = If.<String>compile(String::isEmpty)
+                .<Integer>thenThrow(IllegalArgumentException::new)
+                .elseApply(String::length)
+                .build();
+
+        assertThat(function.apply("four"), is(4));
+    }
+
+    @Test
+    public void compile_thenValueElseThrow_throwElseThrowException_whenPredicateIsFalse() {
+        final Function<String, String> function = If.<String>compile(String::isEmpty)
+                .thenValue("empty")
+                .elseThrow(IllegalStateException::new)
+                .build();
+
+        expectedException.expect(IllegalStateException.class);
+        function.apply("not empty");
+    }
+
+    @Test
+    public void compile_buildMethodHandle_returnFirstMatchingBranch_whenSeveralPredicatesAreTrue() {
+        final Function<Integer, String> function = If.<Integer>compile(number -> number < 10)
+                .thenValue("tens")
+                .elseIf(number -> number < 100)
+                .thenApply(number -> "hundreds " + number)
+                .elseIf(number -> number < 1000)
+                .thenValue("thousands")
+                .elseValue("many")
+                .buildMethodHandle();
+
+        assertThat(function.apply(5), is("tens"));
+        assertThat(function.apply(50), is("hundreds 50"));
+        assertThat(function.apply(500), is("thousands"));
+        assertThat(function.apply(5000), is("many"));
+    }
+
+    @Test
+    public void compile_buildMethodHandle_doNotCallOtherBranches_whenElseIfPredicateIsTrue() {
+        when(testHelper.thenGet2()).thenReturn(20);
+        final Function<Integer, Integer> function = If.<Integer>compile(number -> number < 0)
+                .thenGet(testHelper::thenGet1)
+                .elseIf(number -> number < 100)
+                .thenGet(testHelper::thenGet2)
+                .elseGet(testHelper::elseGet)
+                .buildMethodHandle();
+
+        assertThat(function.apply(50), is(20));
+        verify(testHelper, times(0)).thenGet1();
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void compile_buildMethodHandle_throwThenThrowException_whenPredicateIsTrue() {
+        final Function<String, Integer> function = If.<String>compile(String::isEmpty)
+                .<Integer>thenThrow(IllegalArgumentException::new)
+                .elseApply(String::length)
+                .buildMethodHandle();
+
+        expectedException.expect(IllegalArgumentException.class);
+        function.apply("");
+    }
+
+    @Test
+    public void compile_buildMethodHandle_throwElseThrowException_whenPredicateIsFalse() {
+        final Function<String, String> function = If.<String>compile(String::isEmpty)
+                .thenValue("empty")
+                .elseThrow(IllegalStateException::new)
+                .buildMethodHandle();
+
+        expectedException.expect(IllegalStateException.class);
+        function.apply("not empty");
+    }
+
+    @Test
+    public void compile_buildMethodHandle_keepTreesApart_whenSeveralExpressionsAreBuilt() {
+        final Function<Integer, String> sign = If.<Integer>compile(number -> number < 0)
+                .thenValue("negative")
+                .elseValue("positive")
+                .buildMethodHandle();
+        final Function<Integer, String> parity = If.<Integer>compile(number -> number % 2 == 0)
+                .thenValue("even")
+                .elseValue("odd")
+                .buildMethodHandle();
+
+        assertThat(sign.apply(-3), is("negative"));
+        assertThat(parity.apply(-3), is("odd"));
+        assertThat(sign.apply(4), is("positive"));
+        assertThat(parity.apply(4), is("even"));
+    }
+
+    @Test
+    public void compile_buildAdaptive_returnMatchingBranch_whenPredicatesAreExclusive() {
+        final Function<Integer, String> function = sizes().buildAdaptive();
+
+        assertThat(function.apply(5), is("small"));
+        assertThat(function.apply(50), is("medium"));
+        assertThat(function.apply(500), is("large"));
+        assertThat(function.apply(-5), is("negative"));
+    }
+
+    @Test
+    public void compile_buildAdaptive_testMostFrequentPredicateFirst_whenOneBranchDominates() {
+        // every predicate costs one tick, so the order follows the hit rates alone
+        final AtomicLong clock = new AtomicLong();
+        final CompiledExpression.Adaptive<Integer, String> function = (CompiledExpression.Adaptive<Integer, String>)
+                ((CompiledExpression.Builder<Integer, String>) sizes()).buildAdaptive(clock::incrementAndGet);
+
+        for (int i = 0; i < 4 * CompiledExpression.Adaptive.SAMPLE_RATE * CompiledExpression.Adaptive.REORDER_SAMPLES; i++) {
+            function.apply(i % 10 == 0 ? 5 : 500);
+        }
+
+        assertThat(function.order()[0], is(2));
+        assertThat(function.order()[1], is(0));
+        assertThat(function.apply(50), is("medium"));
+    }
+
+    @Test
+    public void compile_buildAdaptive_keepSourceOrder_whenNotEnoughEvaluationsWereMeasured() {
+        final CompiledExpression.Adaptive<Integer, String> function =
+                (CompiledExpression.Adaptive<Integer, String>) sizes().buildAdaptive();
+
+        function.apply(500);
+
+        assertThat(function.order()[0], is(0));
+        assertThat(function.order()[2], is(2));
+    }
+
+    private static CompiledExpression.IBuild<Integer, String> sizes() {
+        return If.<Integer>compile(number -> number >= 0 && number < 10)
+                .thenValue("small")
+                .elseIf(number -> number >= 10 && number < 100)
+                .thenValue("medium")
+                .elseIf(number -> number >= 100)
+                .thenValue("large")
+                .elseValue("negative");
+    }
+
+    @Test
+    public void evaluateAll_writeResultsInInputOrder_whenInputIsArray() {
+        final CompiledExpression<Integer, String> expression = parity();
+        final String[] output = new String[3];
+
+        expression.evaluateAll(new Integer[]{1, 2, 3}, output);
+
+        assertThat(Arrays.asList(output), is(Arrays.asList("odd", "even", "odd")));
+    }
+
+    @Test
+    public void evaluateAll_writeResultsInInputOrder_whenInputIsLinkedList() {
+        final CompiledExpression<Integer, String> expression = parity();
+        final String[] output = new String[2];
+
+        expression.evaluateAll(new LinkedList<>(Arrays.asList(4, 5)), output);
+
+        assertThat(Arrays.asList(output), is(Arrays.asList("even", "odd")));
+    }
+
+    @Test
+    public void evaluateAll_throwException_whenOutputLengthDiffers() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Input and output differ in length, 2 and 3");
+
+        parity().evaluateAll(new Integer[]{1, 2}, new String[3]);
+    }
+
+    @Test
+    public void evaluateAllParallel_writeResultsInInputOrder_whenInputSpansManyChunks() {
+        final CompiledExpression<Integer, String> expression = parity();
+        final Integer[] input = numbers(ParallelEvaluation.MIN_CHUNK * 10 + 7);
+        final String[] output = new String[input.length];
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            expression.evaluateAllParallel(input, output, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < input.length; i++) {
+            assertThat(output[i], is(i % 2 == 0 ? "even" : "odd"));
+        }
+    }
+
+    @Test
+    public void evaluateAllParallel_writeResultsInInputOrder_whenInputIsLinkedList() {
+        final CompiledExpression<Integer, String> expression = parity();
+        final List<Integer> input = new LinkedList<>(Arrays.asList(numbers(ParallelEvaluation.MIN_CHUNK * 3)));
+        final String[] output = new String[input.size()];
+
+        expression.evaluateAllParallel(input, output);
+
+        assertThat(output[0], is("even"));
+        assertThat(output[output.length - 1], is("odd"));
+    }
+
+    @Test
+    public void evaluateAllParallel_rethrowBranchException_whenBranchThrows() {
+        final CompiledExpression<Integer, String> expression = If.<Integer>compile(number -> number == 5000)
+                .<String>thenThrow(() -> new IllegalStateException("bad record"))
+                .elseValue("ok")
+                .build();
+        final Integer[] input = numbers(ParallelEvaluation.MIN_CHUNK * 8);
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("bad record");
+
+        expression.evaluateAllParallel(input, new String[input.length]);
+    }
+
+    @Test
+    public void evaluating_keepInputOrder_whenStreamIsParallel() {
+        final CompiledExpression<Integer, String> expression = parity();
+        final List<Integer> input = new ArrayList<>(Arrays.asList(numbers(ParallelEvaluation.MIN_CHUNK * 4)));
+
+        final List<String> output = StreamSupport.stream(expression.evaluating(input.spliterator()), true)
+                .collect(Collectors.toList());
+
+        assertThat(output.size(), is(input.size()));
+        assertThat(output, is(input.stream().map(expression).collect(Collectors.toList())));
+    }
+
+    private static CompiledExpression<Integer, String> parity() {
+        return If.<Integer>compile(number -> number % 2 == 0)
+                .thenValue("even")
+                .elseValue("odd")
+                .build();
+    }
+
+    private static Integer[] numbers(final int size) {
+        return IntStream.range(0, size).boxed().toArray(Integer[]::new);
+    }
+}
@@ -0,0 +1,121 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CompiledMatchTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void compileMatch_whenValueElseValue_returnMatchingValue_whenEvaluatedManyTimes() {
+        final Function<String, Integer> function = If.<String, Integer>compileMatch()
+                .whenValue("one", 1)
+                .whenValue("two", 2)
+                .whenValue("three", 3)
+                .elseValue(0)
+                .build();
+
+        assertThat(function.apply("one"), is(1));
+        assertThat(function.apply("three"), is(3));
+        assertThat(function.apply("four"), is(0));
+        assertThat(function.apply(null), is(0));
+    }
+
+    @Test
+    public void compileMatch_whenGetElseGet_callOnlyMatchingSupplier_whenKeyMatches() {
+        when(testHelper.thenGet2()).thenReturn(20);
+        final Function<Integer, Integer> function = If.<Integer, Integer>compileMatch()
+                .whenGet(1, testHelper::thenGet1)
+                .whenGet(2, testHelper::thenGet2)
+                .elseGet(testHelper::elseGet)
+                .build();
+
+        assertThat(function.apply(2), is(20));
+        verify(testHelper, times(0)).thenGet1();
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void compileMatch_whenApplyElseApply_applyBranchToKey_whenEvaluated() {
+        final Function<Integer, Integer> function = If.<Integer, Integer>compileMatch()
+                .whenApply(10, key -> key * 2)
+                .elseApply(key -> -key)
+                .build();
+
+        assertThat(function.apply(10), is(20));
+        assertThat(function.apply(7), is(-7));
+    }
+
+    @Test
+    public void compileMatch_build_usePerfectHash_whenKeysHaveDistinctHashCodes() {
+        final CompiledMatch.IWhen<Integer, Integer> when = If.compileMatch();
+        for (int key = 0; key < 100; key++) {
+            when.whenValue(key * 7, key);
+        }
+
+        final CompiledMatch<Integer, Integer> function = when.elseValue(-1).build();
+
+        assertThat(function instanceof CompiledMatch.PerfectHash, is(true));
+        // multiples of an odd number never collide modulo a power of two
+        assertThat(((CompiledMatch.PerfectHash<Integer, Integer>) function).size(), is(128));
+        for (int key = 0; key < 100; key++) {
+            assertThat(function.apply(key * 7), is(key));
+        }
+        assertThat(function.apply(3), is(-1));
+    }
+
+    @Test
+    public void compileMatch_build_fallBackToHashMap_whenKeysShareHashCodes() {
+        // "Aa" and "BB" have the same hashCode
+        final CompiledMatch<String, Integer> function = If.<String, Integer>compileMatch()
+                .whenValue("Aa", 1)
+                .whenValue("BB", 2)
+                .elseValue(0)
+                .build();
+
+        assertThat(function instanceof CompiledMatch.Hashed, is(true));
+        assertThat(function.apply("Aa"), is(1));
+        assertThat(function.apply("BB"), is(2));
+        assertThat(function.apply("CC"), is(0));
+    }
+
+    @Test
+    public void compileMatch_whenThrow_throwException_whenKeyMatches() {
+        final Function<String, Integer> function = If.<String, Integer>compileMatch()
+                .whenThrow("bad", IllegalArgumentException::new)
+                .elseValue(0)
+                .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+        function.apply("bad");
+    }
+
+    @Test
+    public void compileMatch_elseThrow_throwException_whenNoKeyMatches() {
+        final Function<String, Integer> function = If.<String, Integer>compileMatch()
+                .whenValue("good", 1)
+                .elseThrow(IllegalStateException::new)
+                .build();
+
+        expectedException.expect(IllegalStateException.class);
+        function.apply("unknown");
+    }
+
+    @Test
+    public void compileMatch_whenValue_throwIllegalArgumentException_whenKeyIsRepeated() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.<String, Integer>compileMatch()
+                .whenValue("a", 1)
+                .whenValue("a", 2);
+    }
+}
@@ -0,0 +1,164 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CompiledRangeTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void range_whenValueElseValue_returnBranchOfContainingRange_whenDomainIsSmall() {
+        final CompiledRange.LongRange<String> range = If.<String>range()
+                .whenValue(0, 10, "fast")
+                .whenValue(10, 100, "normal")
+                .whenValue(100, 1000, "slow")
+                .elseValue("unknown")
+                .build();
+
+        assertThat(range.isDense(), is(true));
+        assertThat(range.apply(0), is("fast"));
+        assertThat(range.apply(9), is("fast"));
+        assertThat(range.apply(10), is("normal"));
+        assertThat(range.apply(999), is("slow"));
+        assertThat(range.apply(1000), is("unknown"));
+        assertThat(range.apply(-1), is("unknown"));
+    }
+
+    @Test
+    public void range_whenValueElseValue_returnBranchOfContainingRange_whenDomainIsLarge() {
+        final CompiledRange.LongRange<String> range = If.<String>range()
+                .whenValue(Long.MIN_VALUE, 0, "negative")
+                .whenValue(0, 1_000_000, "small")
+                .whenValue(1_000_000, Long.MAX_VALUE, "large")
+                .elseValue("max")
+                .build();
+
+        assertThat(range.isDense(), is(false));
+        assertThat(range.apply(Long.MIN_VALUE), is("negative"));
+        assertThat(range.apply(0), is("small"));
+        assertThat(range.apply(999_999), is("small"));
+        assertThat(range.apply(1_000_000), is("large"));
+        assertThat(range.apply(Long.MAX_VALUE), is("max"));
+    }
+
+    @Test
+    public void range_build_findEveryBucket_whenThereAreManyRanges() {
+        CompiledRange.ILongWhen<Integer> when = If.range();
+        for (int bucket = 0; bucket < 30; bucket++) {
+            when = when.whenValue(bucket * 1000L, (bucket + 1) * 1000L, bucket);
+        }
+
+        final LongFunction<Integer> range = when.elseValue(-1).build();
+
+        for (int bucket = 0; bucket < 30; bucket++) {
+            assertThat(range.apply(bucket * 1000L), is(bucket));
+            assertThat(range.apply(bucket * 1000L + 999), is(bucket));
+        }
+        assertThat(range.apply(30_000), is(-1));
+    }
+
+    @Test
+    public void range_whenApplyElseGet_callOnlyMatchingBranch_whenEvaluated() {
+        when(testHelper.elseGet()).thenReturn(-1);
+        final LongFunction<Integer> range = If.<Integer>range()
+                .whenApply(0, 10, value -> (int) value * 2)
+                .elseGet(testHelper::elseGet)
+                .build();
+
+        assertThat(range.apply(4), is(8));
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void range_build_throwIllegalArgumentException_whenValueIsOutsideRangesWithoutElse() {
+        final LongFunction<String> range = If.<String>range()
+                .whenValue(0, 10, "fast")
+                .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+        range.apply(10);
+    }
+
+    @Test
+    public void range_whenThrow_throwException_whenValueIsInRange() {
+        final LongFunction<String> range = If.<String>range()
+                .whenThrow(Long.MIN_VALUE, 0, IllegalStateException::new)
+                .whenValue(0, 10, "fast")
+                .build();
+
+        expectedException.expect(IllegalStateException.class);
+        range.apply(-5);
+    }
+
+    @Test
+    public void range_whenValue_throwIllegalArgumentException_whenRangesOverlap() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("overlaps");
+        If.<String>range()
+                .whenValue(0, 10, "fast")
+                .whenValue(5, 100, "normal");
+    }
+
+    @Test
+    public void range_whenValue_throwIllegalArgumentException_whenRangesHaveGap() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Gap");
+        If.<String>range()
+                .whenValue(0, 10, "fast")
+                .whenValue(20, 100, "normal");
+    }
+
+    @Test
+    public void range_whenValue_throwIllegalArgumentException_whenRangeIsEmpty() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.<String>range().whenValue(10, 10, "none");
+    }
+
+    @Test
+    public void range_build_throwIllegalStateException_whenNoRangeIsGiven() {
+        expectedException.expect(IllegalStateException.class);
+        If.<String>range().elseValue("none").build();
+    }
+
+    @Test
+    public void doubleRange_whenValueElseValue_returnBranchOfContainingRange_whenEvaluated() {
+        final DoubleFunction<String> range = If.<String>doubleRange()
+                .whenValue(Double.NEGATIVE_INFINITY, 0.0, "negative")
+                .whenValue(0.0, 0.5, "low")
+                .whenValue(0.5, 1.0, "high")
+                .elseValue("out")
+                .build();
+
+        assertThat(range.apply(-3.0), is("negative"));
+        assertThat(range.apply(-0.0), is("low"));
+        assertThat(range.apply(0.25), is("low"));
+        assertThat(range.apply(0.5), is("high"));
+        assertThat(range.apply(1.0), is("out"));
+        assertThat(range.apply(Double.NaN), is("out"));
+    }
+
+    @Test
+    public void doubleRange_whenValue_throwIllegalArgumentException_whenBoundIsNaN() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.<String>doubleRange().whenValue(0.0, Double.NaN, "none");
+    }
+
+    @Test
+    public void doubleRange_whenValue_throwIllegalArgumentException_whenRangesHaveGap() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.<String>doubleRange()
+                .whenValue(0.0, 0.5, "low")
+                .whenValue(0.6, 1.0, "high");
+    }
+}
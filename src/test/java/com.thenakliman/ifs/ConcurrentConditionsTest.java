@@ -0,0 +1,148 @@
+package com.thenakliman.ifs;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ConcurrentConditionsTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void anyTrue_thenValueElseValue_returnThenValue_whenOneConditionIsTrue() {
+        final String value = If.anyTrue(() -> false, () -> true, () -> false)
+                .thenValue("any")
+                .elseValue("none");
+
+        assertThat(value, is("any"));
+    }
+
+    @Test
+    public void anyTrue_notEvaluateRemainingConditions_whenEvaluatedSequentially() {
+        final AtomicInteger evaluated = new AtomicInteger();
+
+        If.anyTrue(() -> evaluated.incrementAndGet() > 0, () -> evaluated.incrementAndGet() > 0)
+                .thenValue("any")
+                .elseValue("none");
+
+        assertThat(evaluated.get(), is(1));
+    }
+
+    @Test
+    public void allTrue_thenValueElseValue_returnElseValue_whenOneConditionIsFalse() {
+        final String value = If.allTrue(() -> true, () -> false)
+                .thenValue("all")
+                .elseValue("not all");
+
+        assertThat(value, is("not all"));
+    }
+
+    @Test
+    public void allTrue_returnThenValue_whenThereAreNoConditions() {
+        assertThat(If.allTrue().thenValue("all").elseValue("not all"), is("all"));
+        assertThat(If.anyTrue().thenValue("any").elseValue("none"), is("none"));
+    }
+
+    @Test
+    public void anyTrue_returnThenValue_whenTrueConditionFinishesBeforeBlockedOnes() {
+        final CountDownLatch never = new CountDownLatch(1);
+
+        final String value = If.anyTrue(executor, () -> block(never), () -> true, () -> block(never))
+                .thenValue("any")
+                .elseValue("none");
+
+        assertThat(value, is("any"));
+    }
+
+    @Test
+    public void allTrue_returnElseValue_whenFalseConditionFinishesBeforeBlockedOnes() {
+        final CountDownLatch never = new CountDownLatch(1);
+
+        final String value = If.allTrue(executor, () -> block(never), () -> false)
+                .thenValue("all")
+                .elseValue("not all");
+
+        assertThat(value, is("not all"));
+    }
+
+    @Test
+    public void anyTrue_evaluateConditionsConcurrently_whenExecutorIsGiven() {
+        final CountDownLatch started = new CountDownLatch(3);
+        final BooleanSupplier waitForOthers = () -> {
+            started.countDown();
+            return !block(started);
+        };
+
+        // every condition waits for all three to start, sequential evaluation would never finish
+        final String value = If.anyTrue(executor, waitForOthers, waitForOthers, waitForOthers)
+                .thenValue("any")
+                .elseValue("none");
+
+        assertThat(value, is("none"));
+    }
+
+    @Test
+    public void allTrue_returnThenValue_whenEveryConditionIsTrueInParallel() {
+        final String value = If.allTrue(executor, () -> true, () -> true, () -> true)
+                .thenValue("all")
+                .elseValue("not all");
+
+        assertThat(value, is("all"));
+    }
+
+    @Test
+    public void anyTrue_interruptRemainingConditions_whenOutcomeIsDecided() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        If.anyTrue(executor, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException exception) {
+                interrupted.countDown();
+            }
+
+            return false;
+        }, () -> block(started)).thenValue("any").elseValue("none");
+
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void anyTrue_rethrowConditionException_whenConditionFailsBeforeOutcomeIsDecided() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("check failed");
+
+        If.anyTrue(executor, () -> false, () -> {
+            throw new IllegalStateException("check failed");
+        }).thenValue("any").elseValue("none");
+    }
+
+    private static boolean block(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
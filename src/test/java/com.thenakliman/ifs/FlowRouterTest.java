@@ -0,0 +1,364 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class FlowRouterTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void route_sendEachItemToFirstMatchingSubscriber_whenDemandIsUnbounded() {
+        final RangePublisher publisher = new RangePublisher(10);
+        final RecordingSubscriber small = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber medium = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber large = new RecordingSubscriber(Long.MAX_VALUE);
+
+        If.route(publisher, (Integer number) -> number < 3)
+                .thenSubscribe(small)
+                .elseIf(number -> number < 7)
+                .thenSubscribe(medium)
+                .elseSubscribe(large);
+
+        assertThat(small.items, is(numbers(0, 3)));
+        assertThat(medium.items, is(numbers(3, 7)));
+        assertThat(large.items, is(numbers(7, 10)));
+        assertThat(small.completed && medium.completed && large.completed, is(true));
+    }
+
+    @Test
+    public void route_keepThenBranchFlowing_untilSlowElseBufferIsFull() {
+        final RangePublisher publisher = new RangePublisher(100);
+        final RecordingSubscriber even = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber odd = new RecordingSubscriber(0);
+
+        If.route(publisher, (Integer number) -> number % 2 == 0, 4)
+                .thenSubscribe(even)
+                .elseSubscribe(odd);
+
+        // odd numbers wait in the else buffer, the then branch ran until that buffer filled up
+        assertThat(odd.items.isEmpty(), is(true));
+        assertThat(even.items, is(numbers(0, 8).stream().filter(n -> n % 2 == 0).collect(Collectors.toList())));
+        assertThat(publisher.requested, is(8L));
+
+        odd.subscription.request(Long.MAX_VALUE);
+
+        assertThat(even.items.size(), is(50));
+        assertThat(odd.items.size(), is(50));
+        assertThat(odd.items.get(49), is(99));
+        assertThat(even.completed && odd.completed, is(true));
+    }
+
+    @Test
+    public void route_deliverEveryItem_whenBufferHoldsOneItem() {
+        final DeferredPublisher publisher = new DeferredPublisher(10);
+        final RecordingSubscriber even = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber odd = new RecordingSubscriber(Long.MAX_VALUE);
+
+        If.route(publisher, (Integer number) -> number % 2 == 0, 1)
+                .thenSubscribe(even)
+                .elseSubscribe(odd);
+        publisher.emitRequested();
+
+        assertThat(even.items, is(numbers(0, 10).stream().filter(n -> n % 2 == 0).collect(Collectors.toList())));
+        assertThat(odd.items, is(numbers(0, 10).stream().filter(n -> n % 2 == 1).collect(Collectors.toList())));
+        assertThat(even.completed && odd.completed, is(true));
+    }
+
+    @Test
+    public void route_deliverOnlyRequestedItems_whenSubscriberRequestsFewItems() {
+        final RangePublisher publisher = new RangePublisher(100);
+        final RecordingSubscriber all = new RecordingSubscriber(3);
+
+        If.route(publisher, (Integer number) -> true, 16).thenSubscribe(all).elseDoNothing();
+
+        // three delivered and a full buffer of sixteen waiting for demand
+        assertThat(all.items, is(numbers(0, 3)));
+        assertThat(publisher.requested, is(19L));
+    }
+
+    @Test
+    public void route_requestUpstreamInBatches_whenSubscribersAreFast() {
+        final RangePublisher publisher = new RangePublisher(1000);
+
+        If.route(publisher, (Integer number) -> number % 3 == 0, 64)
+                .thenSubscribe(new RecordingSubscriber(Long.MAX_VALUE))
+                .elseSubscribe(new RecordingSubscriber(Long.MAX_VALUE));
+
+        assertThat(publisher.requests, lessThan(1000 / 16 + 2));
+    }
+
+    @Test
+    public void route_dropUnmatchedItems_whenElseDoesNothing() {
+        final RangePublisher publisher = new RangePublisher(10);
+        final RecordingSubscriber even = new RecordingSubscriber(Long.MAX_VALUE);
+
+        If.route(publisher, (Integer number) -> number % 2 == 0, 2).thenSubscribe(even).elseDoNothing();
+
+        assertThat(even.items, is(numbers(0, 10).stream().filter(n -> n % 2 == 0).collect(Collectors.toList())));
+        assertThat(even.completed, is(true));
+    }
+
+    @Test
+    public void route_signalErrorToEverySubscriber_whenPredicateThrows() {
+        final RangePublisher publisher = new RangePublisher(10);
+        final RecordingSubscriber then = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber otherwise = new RecordingSubscriber(Long.MAX_VALUE);
+
+        If.route(publisher, (Integer number) -> {
+            if (number == 4) {
+                throw new IllegalStateException("bad item");
+            }
+
+            return number % 2 == 0;
+        }).thenSubscribe(then).elseSubscribe(otherwise);
+
+        assertThat(then.items, is(numbers(0, 4).stream().filter(n -> n % 2 == 0).collect(Collectors.toList())));
+        assertThat(then.error.getMessage(), is("bad item"));
+        assertThat(otherwise.error.getMessage(), is("bad item"));
+        assertThat(publisher.cancelled, is(true));
+    }
+
+    @Test
+    public void route_cancelUpstream_whenEverySubscriberCancels() {
+        final RangePublisher publisher = new RangePublisher(100);
+        final RecordingSubscriber then = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber otherwise = new RecordingSubscriber(0);
+
+        If.route(publisher, (Integer number) -> number < 10, 4).thenSubscribe(then).elseSubscribe(otherwise);
+        then.subscription.cancel();
+
+        assertThat(publisher.cancelled, is(false));
+        otherwise.subscription.cancel();
+
+        assertThat(publisher.cancelled, is(true));
+    }
+
+    @Test
+    public void route_signalError_whenSubscriberRequestsNonPositiveAmount() {
+        final RecordingSubscriber then = new RecordingSubscriber(0);
+
+        If.route(new RangePublisher(10), (Integer number) -> true).thenSubscribe(then).elseDoNothing();
+        then.subscription.request(0);
+
+        assertThat(then.error instanceof IllegalArgumentException, is(true));
+    }
+
+    @Test
+    public void route_throwException_whenBufferSizeIsNotPositive() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Buffer size must be positive, was 0");
+
+        If.route(new RangePublisher(1), (Integer number) -> true, 0);
+    }
+
+    @Test
+    public void route_deliverEveryItemInOrder_whenPublisherAndSubscribersRunOnDifferentThreads() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CountDownLatch completed = new CountDownLatch(2);
+        final OneByOneSubscriber even = new OneByOneSubscriber(executor, completed);
+        final OneByOneSubscriber odd = new OneByOneSubscriber(executor, completed);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>(executor, 8)) {
+            If.route(publisher, (Integer number) -> number % 2 == 0, 8).thenSubscribe(even).elseSubscribe(odd);
+            for (int i = 0; i < 10_000; i++) {
+                publisher.submit(i);
+            }
+        }
+
+        try {
+            assertThat(completed.await(30, TimeUnit.SECONDS), is(true));
+            assertThat(even.items.size(), is(5_000));
+            assertThat(odd.items.get(4_999), is(9_999));
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(even.items.get(i), is(2 * i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Integer> numbers(final int from, final int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    // emits synchronously from request, without recursion when a subscriber requests from onNext
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int size;
+        private Flow.Subscriber<? super Integer> subscriber;
+        private long requested;
+        private long demand;
+        private int requests;
+        private int next;
+        private boolean emitting;
+        private boolean cancelled;
+
+        private RangePublisher(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    requests++;
+                    requested += n;
+                    demand += n;
+                    emit();
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+        private void emit() {
+            if (emitting) {
+                return;
+            }
+
+            emitting = true;
+            while (demand > 0 && next < size && !cancelled) {
+                demand--;
+                subscriber.onNext(next++);
+            }
+
+            if (next == size && !cancelled) {
+                cancelled = true;
+                subscriber.onComplete();
+            }
+
+            emitting = false;
+        }
+    }
+
+    // emits only when told to and never from inside request, as a publisher on another thread would
+    private static final class DeferredPublisher implements Flow.Publisher<Integer> {
+        private final int size;
+        private Flow.Subscriber<? super Integer> subscriber;
+        private long demand;
+        private int next;
+
+        private DeferredPublisher(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    demand += n;
+                }
+
+                @Override
+                public void cancel() {
+                    demand = 0;
+                }
+            });
+        }
+
+        private void emitRequested() {
+            while (demand > 0 && next < size) {
+                demand--;
+                subscriber.onNext(next++);
+            }
+
+            if (next == size) {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        private final long initialRequest;
+        private final List<Integer> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        private RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    // requests the next item from another thread after handling one, as a slow consumer would
+    private static final class OneByOneSubscriber implements Flow.Subscriber<Integer> {
+        private final ExecutorService executor;
+        private final CountDownLatch completed;
+        private final List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        private Flow.Subscription subscription;
+
+        private OneByOneSubscriber(final ExecutorService executor, final CountDownLatch completed) {
+            this.executor = executor;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            items.add(item);
+            executor.execute(() -> subscription.request(1));
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
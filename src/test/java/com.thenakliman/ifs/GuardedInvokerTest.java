@@ -0,0 +1,71 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class GuardedInvokerTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void hiddenClass_applyTarget_whenHiddenClassesAreAvailable() throws Exception {
+        assumeTrue(GuardedInvoker.isHiddenClassAvailable());
+
+        final Function<Object, Object> invoker = GuardedInvoker.hiddenClass(upperCase());
+        final String hiddenName = GuardedInvoker.class.getPackage().getName() + ".GuardedTarget/";
+
+        assertThat(invoker.apply("value"), is("VALUE"));
+        assertThat(invoker.getClass().getName().startsWith(hiddenName), is(true));
+    }
+
+    @Test
+    public void hiddenClass_keepTargetsApart_whenDefinedTwice() throws Exception {
+        assumeTrue(GuardedInvoker.isHiddenClassAvailable());
+
+        final Function<Object, Object> upper = GuardedInvoker.hiddenClass(upperCase());
+        final Function<Object, Object> length = GuardedInvoker.hiddenClass(MethodHandles.lookup()
+                .findVirtual(String.class, "length", MethodType.methodType(int.class))
+                .asType(MethodType.methodType(Object.class, Object.class)));
+
+        assertThat(upper.apply("value"), is("VALUE"));
+        assertThat(length.apply("value"), is(5));
+    }
+
+    @Test
+    public void constantCallSite_applyTarget_whenCalled() throws Exception {
+        final Function<Object, Object> invoker = GuardedInvoker.constantCallSite(upperCase());
+
+        assertThat(invoker.apply("value"), is("VALUE"));
+    }
+
+    @Test
+    public void invoker_rethrowRuntimeException_whenTargetThrows() throws Exception {
+        final Function<Object, Object> invoker = GuardedInvoker.invoker(upperCase());
+
+        expectedException.expect(ClassCastException.class);
+        invoker.apply(1);
+    }
+
+    @Test
+    public void isHiddenClassAvailable_matchRuntime_whenLookupIsInspected() {
+        final boolean available = Runtime.version().feature() >= 16;
+
+        assertThat(GuardedInvoker.isHiddenClassAvailable(), is(available));
+    }
+
+    private static MethodHandle upperCase() throws Exception {
+        return MethodHandles.lookup()
+                .findVirtual(String.class, "toUpperCase", MethodType.methodType(String.class))
+                .asType(MethodType.methodType(Object.class, Object.class));
+    }
+}
@@ -74,4 +74,22 @@ public class IfOnlyTest {
 
         verify(callTestHelper, times(0)).thenCallMe1();
     }
+
+    @Test
+    public void isTrueThen_thenCall_callThenCall_whenBooleanSupplierIsTrue() {
+        CallTestHelper callTestHelper = mock(CallTestHelper.class);
+
+        If.isTrueThen(() -> true).thenCall(callTestHelper::thenCallMe1);
+
+        verify(callTestHelper).thenCallMe1();
+    }
+
+    @Test
+    public void isTrueThen_thenCall_doNotCall_whenBooleanSupplierIsFalse() {
+        CallTestHelper callTestHelper = mock(CallTestHelper.class);
+
+        If.isTrueThen(() -> false).thenCall(callTestHelper::thenCallMe1);
+
+        verify(callTestHelper, times(0)).thenCallMe1();
+    }
 }
@@ -0,0 +1,177 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class IfPrimitiveTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void isTrue_thenIntElseValue_returnThenValue_whenExpressionIsTrue() {
+        final int value = If.isTrue(true)
+                .thenInt(160)
+                .elseValue(40);
+
+        assertThat(value, is(160));
+    }
+
+    @Test
+    public void isTrue_thenIntElseValue_returnElseValue_whenExpressionIsFalse() {
+        final int value = If.isTrue(false)
+                .thenInt(160)
+                .elseValue(40);
+
+        assertThat(value, is(40));
+    }
+
+    @Test
+    public void isTrue_thenIntElseGet_returnThenGetValueElseGetIsNotCalled_whenExpressionIsTrue() {
+        when(testHelper.thenGet1()).thenReturn(10);
+        final int value = If.isTrue(true)
+                .thenInt(testHelper::thenGet1)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(value, is(10));
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void isTrue_thenIntElseGet_returnElseGetValueThenGetIsNotCalled_whenExpressionIsFalse() {
+        when(testHelper.elseGet()).thenReturn(50);
+        final int value = If.isTrue(false)
+                .thenInt(testHelper::thenGet1)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(value, is(50));
+        verify(testHelper, times(0)).thenGet1();
+    }
+
+    @Test
+    public void isTrue_thenIntElseThrow_throwElseThrowException_whenExpressionIsFalse() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.isTrue(false)
+                .thenInt(10)
+                .elseThrow(IllegalArgumentException::new);
+    }
+
+    @Test
+    public void isTrue_thenIntElseIfThenValueElseValue_returnElseIfThenValue_whenElseIfExpressionIsTrue() {
+        final int value = If.isTrue(false)
+                .thenInt(10)
+                .elseIf(true)
+                .thenValue(20)
+                .elseValue(30);
+
+        assertThat(value, is(20));
+    }
+
+    @Test
+    public void isTrue_thenIntElseIfThenValueElseValue_returnThenValue_whenBothExpressionsAreTrue() {
+        final int value = If.isTrue(true)
+                .thenInt(10)
+                .elseIf(true)
+                .thenValue(20)
+                .elseValue(30);
+
+        assertThat(value, is(10));
+    }
+
+    @Test
+    public void isTrue_thenIntElseIfThenGetElseValue_returnElseValueThenGetIsNotCalled_whenBothExpressionsAreFalse() {
+        final int value = If.isTrue(false)
+                .thenInt(10)
+                .elseIf(false)
+                .thenGet(testHelper::thenGet2)
+                .elseValue(30);
+
+        assertThat(value, is(30));
+        verify(testHelper, times(0)).thenGet2();
+    }
+
+    @Test
+    public void isTrue_thenIntElseIfThenThrow_throwElseIfException_whenElseIfExpressionIsTrue() {
+        expectedException.expect(IllegalStateException.class);
+        If.isTrue(false)
+                .thenInt(10)
+                .elseIf(true)
+                .thenThrow(IllegalStateException::new)
+                .elseValue(30);
+    }
+
+    @Test
+    public void isTrue_thenIntElseIfThenThrow_returnThenValue_whenExpressionIsTrue() {
+        final int value = If.isTrue(true)
+                .thenInt(10)
+                .elseIf(true)
+                .thenThrow(IllegalStateException::new)
+                .elseValue(30);
+
+        assertThat(value, is(10));
+    }
+
+    @Test
+    public void isTrue_thenLongElseValue_returnThenValue_whenExpressionIsTrue() {
+        final long value = If.isTrue(true)
+                .thenLong(5_000_000_000L)
+                .elseValue(1L);
+
+        assertThat(value, is(5_000_000_000L));
+    }
+
+    @Test
+    public void isTrue_thenLongElseGet_returnElseGetValue_whenExpressionIsFalse() {
+        final long value = If.isTrue(false)
+                .thenLong(() -> 10L)
+                .elseGet(() -> 20L);
+
+        assertThat(value, is(20L));
+    }
+
+    @Test
+    public void isTrue_thenLongElseIfThenGetElseThrow_returnElseIfThenValue_whenElseIfExpressionIsTrue() {
+        final long value = If.isTrue(false)
+                .thenLong(10L)
+                .elseIf(true)
+                .thenGet(() -> 20L)
+                .elseThrow(IllegalArgumentException::new);
+
+        assertThat(value, is(20L));
+    }
+
+    @Test
+    public void isTrue_thenDoubleElseValue_returnElseValue_whenExpressionIsFalse() {
+        final double value = If.isTrue(false)
+                .thenDouble(1.5)
+                .elseValue(2.5);
+
+        assertThat(value, is(2.5));
+    }
+
+    @Test
+    public void isTrue_thenDoubleElseGet_returnThenValue_whenExpressionIsTrue() {
+        final double value = If.isTrue(true)
+                .thenDouble(() -> 1.5)
+                .elseGet(() -> 2.5);
+
+        assertThat(value, is(1.5));
+    }
+
+    @Test
+    public void isFalse_thenDoubleElseIfThenValueElseValue_returnElseValue_whenAllExpressionsAreFalse() {
+        final double value = If.isFalse(true)
+                .thenDouble(1.5)
+                .elseIf(false)
+                .thenValue(2.5)
+                .elseValue(3.5);
+
+        assertThat(value, is(3.5));
+    }
+}
@@ -2668,4 +2668,27 @@ public class IfTest {
         If.isFalseThen(true).thenThrow(IllegalArgumentException::new);
     }
 
+    @Test
+    public void isTrue_thenGetElseGet_returnThenGetValue_whenSupplierIsTrue() {
+        final Integer value = If.isTrue(() -> true)
+                .thenGet(() -> 10)
+                .elseGet(() -> 20);
+
+        assertThat(value, is(10));
+    }
+
+    @Test
+    public void isFalse_thenValueElseValue_returnElseValue_whenSupplierIsTrue() {
+        final Integer value = If.isFalse(() -> true)
+                .thenValue(10)
+                .elseValue(20);
+
+        assertThat(value, is(20));
+    }
+
+    @Test
+    public void isFalseThen_thenThrow_throwThenThrowException_whenSupplierIsFalse() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.isFalseThen(() -> false).thenThrow(IllegalArgumentException::new);
+    }
 }
@@ -0,0 +1,105 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MatchExpressionTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void match_whenValueElseValue_returnWhenValue_whenKeyMatches() {
+        final String value = If.match("b")
+                .whenValue("a", "first")
+                .whenValue("b", "second")
+                .elseValue("none");
+
+        assertThat(value, is("second"));
+    }
+
+    @Test
+    public void match_whenValueElseValue_returnElseValue_whenNoKeyMatches() {
+        final String value = If.match("c")
+                .whenValue("a", "first")
+                .whenValue("b", "second")
+                .elseValue("none");
+
+        assertThat(value, is("none"));
+    }
+
+    @Test
+    public void match_whenGetElseGet_callOnlyMatchingSupplier_whenKeyMatches() {
+        when(testHelper.thenGet2()).thenReturn(20);
+        final Integer value = If.match(2)
+                .whenGet(1, testHelper::thenGet1)
+                .whenGet(2, testHelper::thenGet2)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(value, is(20));
+        verify(testHelper, times(0)).thenGet1();
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void match_whenValueElseGet_callElseGet_whenNoKeyMatches() {
+        when(testHelper.elseGet()).thenReturn(30);
+        final Integer value = If.match(3)
+                .whenValue(1, 10)
+                .elseGet(testHelper::elseGet);
+
+        assertThat(value, is(30));
+    }
+
+    @Test
+    public void match_whenValueWhenValue_returnFirstValue_whenKeyIsRepeated() {
+        final String value = If.match("a")
+                .whenValue("a", "first")
+                .whenValue("a", "second")
+                .elseValue("none");
+
+        assertThat(value, is("first"));
+    }
+
+    @Test
+    public void match_whenThrow_throwException_whenKeyMatches() {
+        expectedException.expect(IllegalArgumentException.class);
+        If.match("bad")
+                .whenValue("good", 1)
+                .whenThrow("bad", IllegalArgumentException::new)
+                .elseValue(0);
+    }
+
+    @Test
+    public void match_elseThrow_throwException_whenNoKeyMatches() {
+        expectedException.expect(IllegalStateException.class);
+        If.match("unknown")
+                .whenValue("good", 1)
+                .elseThrow(IllegalStateException::new);
+    }
+
+    @Test
+    public void match_whenValueElseThrow_returnWhenValue_whenKeyMatches() {
+        final Integer value = If.match("good")
+                .whenValue("good", 1)
+                .elseThrow(IllegalStateException::new);
+
+        assertThat(value, is(1));
+    }
+
+    @Test
+    public void match_whenValueElseValue_matchNullKey_whenKeyIsNull() {
+        final String value = If.<String>match(null)
+                .whenValue("a", "first")
+                .whenValue(null, "null")
+                .elseValue("none");
+
+        assertThat(value, is("null"));
+    }
+}
@@ -0,0 +1,225 @@
+package com.thenakliman.ifs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MemoizationTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private GetTestHelper testHelper = mock(GetTestHelper.class);
+
+    @Test
+    public void lazy_thenGet_callSupplierOnce_whenChainRunsManyTimes() {
+        when(testHelper.thenGet1()).thenReturn(10);
+        final Supplier<Integer> defaultLimit = If.lazy(testHelper::thenGet1);
+
+        for (int i = 0; i < 3; i++) {
+            final Integer limit = If.isTrue(true).thenGet(defaultLimit).elseValue(0);
+            assertThat(limit, is(10));
+        }
+
+        verify(testHelper, times(1)).thenGet1();
+    }
+
+    @Test
+    public void lazy_notCallSupplier_whenValueIsNeverRequested() {
+        final Supplier<Integer> defaultLimit = If.lazy(testHelper::elseGet);
+
+        If.isTrue(true).thenValue(1).elseGet(defaultLimit);
+
+        verify(testHelper, times(0)).elseGet();
+    }
+
+    @Test
+    public void lazy_cacheNull_whenSupplierReturnsNull() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> value = If.lazy(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+
+        assertThat(value.get(), is(nullValue()));
+        assertThat(value.get(), is(nullValue()));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void lazy_callSupplierAgain_whenPreviousCallThrew() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<Integer> value = If.lazy(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("config not loaded");
+            }
+
+            return 42;
+        });
+
+        try {
+            value.get();
+        } catch (final IllegalStateException exception) {
+            assertThat(exception.getMessage(), is("config not loaded"));
+        }
+
+        assertThat(value.get(), is(42));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void lazy_callSupplierOnce_whenManyThreadsRequestValueTogether() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Supplier<Integer> value = If.lazy(() -> {
+            calls.incrementAndGet();
+            return 7;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return value.get();
+                }));
+            }
+
+            start.countDown();
+            for (final Future<Integer> result : results) {
+                assertThat(result.get(), is(7));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void memoize_elseMap_applyFunctionOncePerKey_whenChainRunsManyTimes() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, Integer> length = If.memoize(text -> {
+            calls.incrementAndGet();
+            return text.length();
+        });
+
+        for (final String text : new String[]{"one", "three", "one", "three", "one"}) {
+            If.isNull(text).thenValue(0).elseMap(length);
+        }
+
+        assertThat(If.isNull("three").thenValue(0).elseMap(length), is(5));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void memoize_cacheNullKeyAndNullValue_whenFunctionAcceptsNull() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, String> upper = If.memoize(text -> {
+            calls.incrementAndGet();
+            return text == null ? null : text.toUpperCase();
+        });
+
+        assertThat(upper.apply(null), is(nullValue()));
+        assertThat(upper.apply(null), is(nullValue()));
+        assertThat(upper.apply("a"), is("A"));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void memoize_rethrowAndNotCache_whenFunctionThrows() {
+        final Function<Integer, Integer> inverse = If.memoize(number -> 100 / number);
+
+        expectedException.expect(ArithmeticException.class);
+
+        inverse.apply(0);
+    }
+
+    @Test
+    public void memoize_applyFunctionOnce_whenManyThreadsMissSameKeyTogether() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Function<String, Integer> length = If.memoize(text -> {
+            calls.incrementAndGet();
+            sleep(20);
+            return text.length();
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return length.apply("three");
+                }));
+            }
+
+            start.countDown();
+            for (final Future<Integer> result : results) {
+                assertThat(result.get(), is(5));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void memoize_allowRecursiveCalls_whenFunctionCallsItself() {
+        final List<Function<Integer, Long>> self = new ArrayList<>();
+        final Function<Integer, Long> fibonacci = If.memoize(
+                number -> number < 2 ? (long) number : self.get(0).apply(number - 1) + self.get(0).apply(number - 2));
+        self.add(fibonacci);
+
+        assertThat(fibonacci.apply(90), is(2880067194370816120L));
+    }
+
+    @Test
+    public void memoize_computeKeysBeyondMaximumSizeEveryTime_whenBoundIsReached() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, Integer> length = If.memoize(text -> {
+            calls.incrementAndGet();
+            return text.length();
+        }, 1);
+
+        length.apply("one");
+        length.apply("three");
+        length.apply("one");
+        length.apply("three");
+
+        assertThat(length.apply("one"), is(3));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    public void memoize_throwIllegalArgumentException_whenMaximumSizeIsNegative() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        If.memoize(String::length, -1);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
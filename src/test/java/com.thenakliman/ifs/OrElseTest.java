@@ -2,6 +2,9 @@ package com.thenakliman.ifs;
 
 import org.junit.Test;
 
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
@@ -32,6 +35,25 @@ public class OrElseTest {
         verify(callTestHelper).thenCallMe1();
     }
 
+    @Test
+    public void ifOrElse_thenCallElseCall_notCallElseCall_whenBooleanSupplierEvaluatesToTrue() {
+        CallTestHelper callTestHelper = mock(CallTestHelper.class);
+
+        If.orElse((BooleanSupplier) () -> true, callTestHelper::thenCallMe1, callTestHelper::elseCallMe);
+
+        verify(callTestHelper).thenCallMe1();
+        verify(callTestHelper, times(0)).elseCallMe();
+    }
+
+    @Test
+    public void ifOrElse_thenCallElseCall_notCallElseCall_whenExpressionEvaluatesToTrue() {
+        CallTestHelper callTestHelper = mock(CallTestHelper.class);
+
+        If.orElse(true, callTestHelper::thenCallMe1, callTestHelper::elseCallMe);
+
+        verify(callTestHelper, times(0)).elseCallMe();
+    }
+
     @Test
     public void ifOrElse_thenCallElseCall_callElseCall_whenSupplierEvaluatesToFalse() {
         CallTestHelper callTestHelper = mock(CallTestHelper.class);
@@ -107,6 +129,47 @@ public class OrElseTest {
         verify(callTestHelper).elseCallMe();
     }
 
+    @Test
+    public void ifOrElse_intThenValueElseValue_returnThenValue_whenExpressionEvaluatesToTrue() {
+
+        final int value = If.orElse(true, 160, 40);
+
+        assertThat(value, is(160));
+    }
+
+    @Test
+    public void ifOrElse_longThenValueElseValue_returnElseValue_whenExpressionEvaluatesToFalse() {
+
+        final long value = If.orElse(false, 10L, 20L);
+
+        assertThat(value, is(20L));
+    }
+
+    @Test
+    public void ifOrElse_doubleThenValueElseValue_returnThenValue_whenExpressionEvaluatesToTrue() {
+
+        final double value = If.orElse(true, 1.5, 2.5);
+
+        assertThat(value, is(1.5));
+    }
+
+    @Test
+    public void ifOrElse_thenValueElseValue_returnThenValue_whenBoxedSupplierIsTrue() {
+        final Supplier<Boolean> booleanSupplier = () -> true;
+
+        final Integer value = If.orElse(booleanSupplier, 10, 20);
+
+        assertThat(value, is(10));
+    }
+
+    @Test
+    public void ifOrElse_intThenValueElseValue_returnElseValue_whenBooleanSupplierIsFalse() {
+
+        final int value = If.orElse(() -> false, 160, 40);
+
+        assertThat(value, is(40));
+    }
+
     @Test
     public void nullOrElse_thenGetElseGet_returnThenReturn_whenIsNull() {
 
@@ -155,4 +218,64 @@ public class OrElseTest {
 
         verify(callTestHelper, times(0)).thenCallMe1();
     }
+
+    @Test
+    public void ifOrElse_intWithLikelyTrue_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, 160, -40, BranchHint.LIKELY_TRUE), is(160));
+    }
+
+    @Test
+    public void ifOrElse_intWithLikelyTrue_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, 160, -40, BranchHint.LIKELY_TRUE), is(-40));
+    }
+
+    @Test
+    public void ifOrElse_longWithLikelyTrue_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, Long.MAX_VALUE, Long.MIN_VALUE, BranchHint.LIKELY_TRUE), is(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void ifOrElse_doubleWithLikelyTrue_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, -0.0, Double.NaN, BranchHint.LIKELY_TRUE), is(-0.0));
+    }
+
+    @Test
+    public void ifOrElse_intWithLikelyFalse_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, 160, -40, BranchHint.LIKELY_FALSE), is(160));
+    }
+
+    @Test
+    public void ifOrElse_intWithLikelyFalse_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, 160, -40, BranchHint.LIKELY_FALSE), is(-40));
+    }
+
+    @Test
+    public void ifOrElse_longWithLikelyFalse_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, Long.MAX_VALUE, Long.MIN_VALUE, BranchHint.LIKELY_FALSE), is(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void ifOrElse_doubleWithLikelyFalse_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, -0.0, Double.NaN, BranchHint.LIKELY_FALSE), is(-0.0));
+    }
+
+    @Test
+    public void ifOrElse_intWithUnpredictable_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, 160, -40, BranchHint.UNPREDICTABLE), is(160));
+    }
+
+    @Test
+    public void ifOrElse_intWithUnpredictable_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, 160, -40, BranchHint.UNPREDICTABLE), is(-40));
+    }
+
+    @Test
+    public void ifOrElse_longWithUnpredictable_returnElseValue_whenExpressionEvaluatesToFalse() {
+        assertThat(If.orElse(false, Long.MAX_VALUE, Long.MIN_VALUE, BranchHint.UNPREDICTABLE), is(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void ifOrElse_doubleWithUnpredictable_returnThenValue_whenExpressionEvaluatesToTrue() {
+        assertThat(If.orElse(true, -0.0, Double.NaN, BranchHint.UNPREDICTABLE), is(-0.0));
+    }
 }
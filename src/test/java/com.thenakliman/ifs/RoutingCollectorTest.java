@@ -0,0 +1,129 @@
+package com.thenakliman.ifs;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RoutingCollectorTest {
+    @Test
+    public void partitioning_collectIntoThenAndElse_whenPredicateSplitsElements() {
+        final RoutingCollector.Partition<List<Integer>, Long> partition = Stream.of(1, 2, 3, 4, 5)
+                .collect(If.partitioning(number -> number % 2 == 0, Collectors.toList(), Collectors.counting()));
+
+        assertThat(partition.getThen(), is(Arrays.asList(2, 4)));
+        assertThat(partition.getElse(), is(3L));
+    }
+
+    @Test
+    public void partitioning_mergeResults_whenMergerIsProvided() {
+        final String summary = Stream.of("a", "bb", "ccc")
+                .collect(If.partitioning(word -> word.length() > 1,
+                        Collectors.joining(","),
+                        Collectors.counting(),
+                        (longWords, shortWords) -> longWords + "/" + shortWords));
+
+        assertThat(summary, is("bb,ccc/1"));
+    }
+
+    @Test
+    public void partitioning_testPredicateOncePerElement_whenCollecting() {
+        final AtomicInteger tests = new AtomicInteger();
+
+        Stream.of(1, 2, 3).collect(If.partitioning(number -> tests.incrementAndGet() > 0,
+                Collectors.toList(),
+                Collectors.toList()));
+
+        assertThat(tests.get(), is(3));
+    }
+
+    @Test
+    public void partitioning_keepEncounterOrder_whenStreamIsParallel() {
+        final RoutingCollector.Partition<List<Integer>, List<Integer>> partition = IntStream.range(0, 10_000)
+                .boxed()
+                .parallel()
+                .collect(If.partitioning(number -> number % 3 == 0, Collectors.toList(), Collectors.toList()));
+
+        assertThat(partition.getThen(), is(IntStream.range(0, 10_000).filter(n -> n % 3 == 0).boxed()
+                .collect(Collectors.toList())));
+        assertThat(partition.getElse().size(), is(6_666));
+    }
+
+    @Test
+    public void partitioning_beConcurrentAndUnordered_whenBothDownstreamsAre() {
+        final Collector<Integer, ?, ?> collector = If.partitioning(number -> number > 0,
+                countByLastDigit(),
+                countByLastDigit());
+
+        assertThat(collector.characteristics().contains(Collector.Characteristics.CONCURRENT), is(true));
+        assertThat(collector.characteristics().contains(Collector.Characteristics.UNORDERED), is(true));
+    }
+
+    @Test
+    public void partitioning_notBeConcurrent_whenOneDownstreamIsNot() {
+        final Collector<Integer, ?, ?> collector = If.partitioning(number -> number > 0,
+                countByLastDigit(),
+                Collectors.toList());
+
+        assertThat(collector.characteristics().isEmpty(), is(true));
+    }
+
+    @Test
+    public void partitioning_countEveryElement_whenConcurrentCollectorRunsInParallel() {
+        final RoutingCollector.Partition<ConcurrentMap<Integer, Integer>, ConcurrentMap<Integer, Integer>> partition =
+                IntStream.range(0, 10_000)
+                        .boxed()
+                        .parallel()
+                        .collect(If.partitioning(number -> number % 2 == 0,
+                                countByLastDigit(),
+                                countByLastDigit()));
+
+        assertThat(partition.getThen().get(4), is(1_000));
+        assertThat(partition.getElse().get(7), is(1_000));
+    }
+
+    @Test
+    public void routing_sendElementToFirstMatchingBranch_whenElseIfPredicatesOverlap() {
+        final List<List<Integer>> routes = Stream.of(5, 50, 500, 5000)
+                .collect(If.<Integer>routing(number -> number < 10)
+                        .thenCollect(Collectors.toList())
+                        .elseIf(number -> number < 1000)
+                        .thenCollect(Collectors.toList())
+                        .elseIf(number -> number < 100)
+                        .thenCollect(Collectors.toList())
+                        .elseCollect(Collectors.toList()));
+
+        assertThat(routes, is(Arrays.asList(
+                Arrays.asList(5),
+                Arrays.asList(50, 500),
+                Arrays.<Integer>asList(),
+                Arrays.asList(5000))));
+    }
+
+    @Test
+    public void routing_combinePartialResults_whenStreamIsParallel() {
+        final List<Long> counts = IntStream.range(0, 100_000)
+                .boxed()
+                .parallel()
+                .collect(If.<Integer>routing(number -> number < 10)
+                        .thenCollect(Collectors.counting())
+                        .elseIf(number -> number < 100)
+                        .thenCollect(Collectors.counting())
+                        .elseCollect(Collectors.counting()));
+
+        assertThat(counts, is(Arrays.asList(10L, 90L, 99_900L)));
+    }
+
+    private static Collector<Integer, ?, ConcurrentMap<Integer, Integer>> countByLastDigit() {
+        return Collectors.toConcurrentMap(number -> number % 10, number -> 1, Integer::sum);
+    }
+}
@@ -0,0 +1,154 @@
+package com.thenakliman.ifs;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SpeculationTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void orElseSpeculative_returnThenValue_whenConditionIsTrue() {
+        final String value = If.orElseSpeculative(() -> true, () -> "then", () -> "else", executor);
+
+        assertThat(value, is("then"));
+    }
+
+    @Test
+    public void orElseSpeculative_returnElseValue_whenConditionIsFalse() {
+        final String value = If.orElseSpeculative(() -> false, () -> "then", () -> "else", executor);
+
+        assertThat(value, is("else"));
+    }
+
+    @Test
+    public void orElseSpeculative_returnValue_whenCalledFromWorkerOfSinglePoolRunningBranches() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(1);
+
+        try {
+            final String value = pool.submit(() -> If.orElseSpeculative(() -> true, () -> "then", () -> "else", pool))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(value, is("then"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void orElseSpeculative_cancelStartedBranch_whenExecutorRejectsOtherBranch() {
+        final List<Runnable> started = new ArrayList<>();
+        final Executor rejectSecond = task -> {
+            if (!started.isEmpty()) {
+                throw new RejectedExecutionException("saturated");
+            }
+
+            started.add(task);
+        };
+
+        try {
+            If.orElseSpeculative(() -> true, () -> "then", () -> "else", rejectSecond);
+            fail("submission should have been rejected");
+        } catch (final RejectedExecutionException exception) {
+            assertThat(started.size(), is(1));
+            assertThat(((Future<?>) started.get(0)).isCancelled(), is(true));
+        }
+    }
+
+    @Test
+    public void orElseSpeculative_runBranchesWhileConditionIsComputing_whenConditionIsSlow() {
+        final CountDownLatch started = new CountDownLatch(2);
+
+        // the condition only finishes once both branches have started, so it deadlocks if they run after it
+        final Integer value = If.orElseSpeculative(() -> await(started), () -> {
+            started.countDown();
+            return 1;
+        }, () -> {
+            started.countDown();
+            return 2;
+        }, executor);
+
+        assertThat(value, is(1));
+    }
+
+    @Test
+    public void orElseSpeculative_interruptLosingBranch_whenConditionResolves() throws Exception {
+        final CountDownLatch elseStarted = new CountDownLatch(1);
+        final CountDownLatch elseInterrupted = new CountDownLatch(1);
+
+        final String value = If.orElseSpeculative(() -> await(elseStarted), () -> "then", () -> {
+            elseStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException exception) {
+                elseInterrupted.countDown();
+            }
+
+            return "else";
+        }, executor);
+
+        assertThat(value, is("then"));
+        assertThat(elseInterrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void orElseSpeculative_rethrowBranchException_whenWinningBranchFails() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("lookup failed");
+
+        If.orElseSpeculative(() -> true, () -> {
+            throw new IllegalStateException("lookup failed");
+        }, () -> "else", executor);
+    }
+
+    @Test
+    public void orElseSpeculative_ignoreLosingBranchException_whenOtherBranchWins() {
+        final String value = If.orElseSpeculative(() -> true, () -> "then", () -> {
+            throw new IllegalStateException("ignored");
+        }, executor);
+
+        assertThat(value, is("then"));
+    }
+
+    @Test
+    public void orElseSpeculative_rethrowConditionException_whenConditionFails() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("remote check failed");
+
+        If.orElseSpeculative(() -> {
+            throw new IllegalArgumentException("remote check failed");
+        }, () -> "then", () -> "else", executor);
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.thenakliman.ifs;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+// masked blends over the widest vectors of the platform, the tail shorter than a vector is done scalar
+final class VectorSelect implements ArraySelect.ISelect {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorSelect() {
+    }
+
+    @Override
+    public void select(final boolean[] mask, final int[] thenValues, final int[] elseValues, final int[] out) {
+        int i = 0;
+        for (final int bound = INTS.loopBound(out.length); i < bound; i += INTS.length()) {
+            final VectorMask<Integer> lanes = VectorMask.fromArray(INTS, mask, i);
+            IntVector.fromArray(INTS, elseValues, i)
+                    .blend(IntVector.fromArray(INTS, thenValues, i), lanes)
+                    .intoArray(out, i);
+        }
+
+        for (; i < out.length; i++) {
+            out[i] = mask[i] ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    @Override
+    public void select(final boolean[] mask, final long[] thenValues, final long[] elseValues, final long[] out) {
+        int i = 0;
+        for (final int bound = LONGS.loopBound(out.length); i < bound; i += LONGS.length()) {
+            final VectorMask<Long> lanes = VectorMask.fromArray(LONGS, mask, i);
+            LongVector.fromArray(LONGS, elseValues, i)
+                    .blend(LongVector.fromArray(LONGS, thenValues, i), lanes)
+                    .intoArray(out, i);
+        }
+
+        for (; i < out.length; i++) {
+            out[i] = mask[i] ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    @Override
+    public void select(final boolean[] mask, final float[] thenValues, final float[] elseValues, final float[] out) {
+        int i = 0;
+        for (final int bound = FLOATS.loopBound(out.length); i < bound; i += FLOATS.length()) {
+            final VectorMask<Float> lanes = VectorMask.fromArray(FLOATS, mask, i);
+            FloatVector.fromArray(FLOATS, elseValues, i)
+                    .blend(FloatVector.fromArray(FLOATS, thenValues, i), lanes)
+                    .intoArray(out, i);
+        }
+
+        for (; i < out.length; i++) {
+            out[i] = mask[i] ? thenValues[i] : elseValues[i];
+        }
+    }
+
+    @Override
+    public void select(final boolean[] mask,
+                       final double[] thenValues,
+                       final double[] elseValues,
+                       final double[] out) {
+        int i = 0;
+        for (final int bound = DOUBLES.loopBound(out.length); i < bound; i += DOUBLES.length()) {
+            final VectorMask<Double> lanes = VectorMask.fromArray(DOUBLES, mask, i);
+            DoubleVector.fromArray(DOUBLES, elseValues, i)
+                    .blend(DoubleVector.fromArray(DOUBLES, thenValues, i), lanes)
+                    .intoArray(out, i);
+        }
+
+        for (; i < out.length; i++) {
+            out[i] = mask[i] ? thenValues[i] : elseValues[i];
+        }
+    }
+}